@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.config;
+
+import com.server.starter.system.log.AccessLogFilter;
+import com.server.starter.system.log.AccessLogWriter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * access log config
+ */
+@Configuration(proxyBeanMethods = false)
+public class AccessLogConfiguration {
+
+    /**
+     * <p>accessLogFilter.</p>
+     * <p>
+     * Registered ahead of the security filter chain, so requests it rejects are logged as well and the
+     * response time includes authentication.
+     *
+     * @param accessLogWriter a {@link AccessLogWriter} object
+     * @return a {@link FilterRegistrationBean} object
+     */
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogWriter accessLogWriter) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(accessLogWriter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+}
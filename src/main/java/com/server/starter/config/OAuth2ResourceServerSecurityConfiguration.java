@@ -20,7 +20,17 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.server.starter.system.cache.UserDetailsCache;
+import com.server.starter.system.repository.UserRepository;
+import com.server.starter.system.security.CachedUserDetailsService;
+import com.server.starter.system.security.CachingJwtAuthenticationConverter;
+import com.server.starter.system.security.CachingJwtDecoder;
+import com.server.starter.system.security.PasswordEncoderEndpoint;
+import com.server.starter.system.security.TokenRevocationList;
+import com.server.starter.system.security.TunablePasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -28,7 +38,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
@@ -41,6 +50,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import javax.sql.DataSource;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 
 /**
  * <p>AuthorizationServerConfiguration class.</p>
@@ -67,10 +77,14 @@ public class OAuth2ResourceServerSecurityConfiguration {
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http.authorizeHttpRequests((authorize) -> authorize.anyRequest().authenticated())
+        http.authorizeHttpRequests((authorize) -> authorize
+                        .requestMatchers(EndpointRequest.to(PasswordEncoderEndpoint.class))
+                        .hasAuthority("SCOPE_actuator:write")
+                        .anyRequest().authenticated())
                 .csrf((csrf) -> csrf.ignoringRequestMatchers("/signin"))
                 .httpBasic(Customizer.withDefaults())
-                .oauth2ResourceServer(o -> o.jwt(Customizer.withDefaults()))
+                .oauth2ResourceServer(o -> o.jwt(jwt -> jwt
+                        .jwtAuthenticationConverter(new CachingJwtAuthenticationConverter())))
                 .sessionManagement((session) -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling((exceptions) -> exceptions
                         .authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
@@ -79,17 +93,28 @@ public class OAuth2ResourceServerSecurityConfiguration {
         return http.build();
     }
 
+    /**
+     * Loads users with their own and their groups' authorities, repeat sign-ins are served from the cache.
+     * Passwords are checked with the {@link TunablePasswordEncoder} bean and rehashed when its settings change.
+     */
     @Bean
-    UserDetailsService userDetailsService(DataSource dataSource) {
+    CachedUserDetailsService userDetailsService(DataSource dataSource, UserDetailsCache userDetailsCache,
+                                                UserRepository userRepository) {
         JdbcUserDetailsManager jdbcUserDetailsManager = new JdbcUserDetailsManager(dataSource);
         // enable groups
         jdbcUserDetailsManager.setEnableGroups(true);
-        return jdbcUserDetailsManager;
+        return new CachedUserDetailsService(jdbcUserDetailsManager, userDetailsCache, userRepository);
     }
 
+    /**
+     * Verifies each token once, repeat tokens are served from the cache until they expire.
+     */
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(this.key).build();
+    JwtDecoder jwtDecoder(TokenRevocationList tokenRevocationList, MeterRegistry meterRegistry,
+                          @Value("${cache.jwt.maximum-size:10000}") long maximumSize,
+                          @Value("${cache.jwt.maximum-age:1h}") Duration maximumAge) {
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(this.key).build(), tokenRevocationList,
+                meterRegistry, maximumSize, maximumAge);
     }
 
     @Bean
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.domain;
+
+/**
+ * How the total of a page is obtained.
+ */
+public enum CountMode {
+    /**
+     * Run an exact count.
+     */
+    EXACT,
+    /**
+     * Use the row estimate kept by the database statistics, falling back to an exact count on small tables.
+     */
+    ESTIMATED,
+    /**
+     * Skip the count, the total is reported as -1.
+     */
+    NONE
+}
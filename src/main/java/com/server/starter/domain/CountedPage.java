@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.domain;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page whose total may be estimated or unknown, see {@link CountMode}.
+ * <p>
+ * Whether a next page exists is always known exactly, it does not depend on the total.
+ *
+ * @param <T> the type of the content
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    /**
+     * How {@link #getTotalElements()} was obtained.
+     */
+    private final CountMode count;
+    private final long total;
+    private final boolean hasNext;
+
+    /**
+     * Constructor for CountedPage.
+     *
+     * @param content  the content of this page
+     * @param pageable the paging information
+     * @param total    the total number of rows, ignored for {@link CountMode#NONE}
+     * @param count    how the total was obtained
+     * @param hasNext  whether there is a next page
+     */
+    public CountedPage(List<T> content, Pageable pageable, long total, CountMode count, boolean hasNext) {
+        super(content, pageable, count == CountMode.NONE ? pageable.getOffset() + content.size() : total);
+        this.total = total;
+        this.count = count;
+        this.hasNext = hasNext;
+    }
+
+    public CountMode getCount() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * -1 for {@link CountMode#NONE}.
+     */
+    @Override
+    public long getTotalElements() {
+        return count == CountMode.NONE ? -1 : super.getTotalElements();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * -1 for {@link CountMode#NONE}.
+     */
+    @Override
+    public int getTotalPages() {
+        return count == CountMode.NONE ? -1 : super.getTotalPages();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), total, count, hasNext);
+    }
+
+}
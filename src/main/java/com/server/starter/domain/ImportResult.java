@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.domain;
+
+import java.util.List;
+
+/**
+ * The outcome of an import: how many rows were read and imported, and why the others were not.
+ */
+public class ImportResult {
+
+    /**
+     * The number of rows read, without the header and blank rows.
+     */
+    private final long total;
+
+    /**
+     * The number of rows written.
+     */
+    private final long imported;
+
+    /**
+     * The number of rows rejected or not written.
+     */
+    private final long failed;
+
+    /**
+     * The errors of the failed rows, possibly fewer than {@link #failed} if they were capped.
+     */
+    private final List<RowError> errors;
+
+    /**
+     * Constructor for ImportResult.
+     *
+     * @param total    the number of rows read
+     * @param imported the number of rows written
+     * @param failed   the number of rows rejected or not written
+     * @param errors   the errors of the failed rows
+     */
+    public ImportResult(long total, long imported, long failed, List<RowError> errors) {
+        this.total = total;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = List.copyOf(errors);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Why a row was not imported.
+     *
+     * @param row     the row number as shown in the sheet, starting at 1
+     * @param message the reason
+     */
+    public record RowError(int row, String message) {
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice read with keyset pagination, carrying the cursor of the next slice instead of a total count.
+ *
+ * @param <T> the type of the content
+ */
+@JsonIgnoreProperties({"pageable", "number"})
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    /**
+     * The cursor to pass as {@code after} for the next slice, null on the last slice.
+     */
+    private final String next;
+
+    /**
+     * Constructor for KeysetSlice.
+     *
+     * @param content  the content of this slice
+     * @param pageable the size and sort this slice was read with
+     * @param next     the cursor of the next slice, or null if this is the last one
+     */
+    public KeysetSlice(List<T> content, Pageable pageable, String next) {
+        super(content, pageable, next != null);
+        this.next = next;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(getConvertedContent(converter), getPageable(), next);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.exploiter.cache;
+
+import com.server.starter.exploiter.domain.ColumnInfo;
+import com.server.starter.exploiter.domain.TableInfo;
+import com.server.starter.exploiter.mapper.ColumnMapper;
+import com.server.starter.exploiter.mapper.TableMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A snapshot of the tables, columns and comments of the public schema.
+ * <p>
+ * The snapshot is read with two catalog queries and then answers every lookup from memory, by table name
+ * in constant time. It is rebuilt on the first lookup after {@link #invalidate()}, after {@link #refresh()},
+ * or once it is older than the maximum age, and single tables can be reloaded with {@link #refresh(String)}
+ * and {@link #refresh(Collection)}.
+ * {@link CatalogChangeListener} invalidates it on DDL when enabled.
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCache.class);
+
+    private final TableMapper tableMapper;
+    private final ColumnMapper columnMapper;
+    private final long maxAgeNanos;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor for CatalogCache.
+     *
+     * @param tableMapper  a {@link TableMapper} object
+     * @param columnMapper a {@link ColumnMapper} object
+     * @param maxAge       how long a snapshot is used before it is rebuilt
+     */
+    public CatalogCache(TableMapper tableMapper, ColumnMapper columnMapper,
+                        @Value("${exploiter.catalog.max-age:10m}") Duration maxAge) {
+        this.tableMapper = tableMapper;
+        this.columnMapper = columnMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Returns all tables.
+     *
+     * @return the tables, unmodifiable
+     */
+    public List<TableInfo> tables() {
+        return snapshot().tables();
+    }
+
+    /**
+     * Returns a table.
+     *
+     * @param tableName the table name
+     * @return the table, or null if it does not exist
+     */
+    public TableInfo table(String tableName) {
+        return snapshot().tableMap().get(tableName);
+    }
+
+    /**
+     * Returns the columns of a table, in their ordinal order.
+     *
+     * @param tableName the table name
+     * @return the columns, unmodifiable and empty if the table does not exist
+     */
+    public List<ColumnInfo> columns(String tableName) {
+        return snapshot().columns().getOrDefault(tableName, Collections.emptyList());
+    }
+
+    /**
+     * Rebuilds the snapshot now.
+     */
+    public void refresh() {
+        synchronized (this) {
+            snapshot = load();
+        }
+    }
+
+    /**
+     * Reloads the columns of one table into the snapshot, leaving the other tables as they are.
+     *
+     * @param tableName the table name
+     * @return the columns, unmodifiable and empty if the table does not exist
+     */
+    public List<ColumnInfo> refresh(String tableName) {
+        List<ColumnInfo> loaded = List.copyOf(columnMapper.findAllColumnsByName(tableName));
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current != null) {
+                Map<String, List<ColumnInfo>> columns = new HashMap<>(current.columns());
+                columns.put(tableName, loaded);
+                snapshot = new Snapshot(current.tables(), current.tableMap(), Map.copyOf(columns),
+                        current.loadedAt());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Reloads the columns of several tables into the snapshot with a single catalog query.
+     *
+     * @param tableNames the table names
+     * @return the columns by table name, unmodifiable and without the tables that do not exist
+     */
+    public Map<String, List<ColumnInfo>> refresh(Collection<String> tableNames) {
+        if (CollectionUtils.isEmpty(tableNames)) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<ColumnInfo>> grouped = new HashMap<>(tableNames.size());
+        for (ColumnInfo column : columnMapper.findAllColumnsByNames(tableNames)) {
+            grouped.computeIfAbsent(column.getTableName(), key -> new ArrayList<>()).add(column);
+        }
+        Map<String, List<ColumnInfo>> loaded = grouped.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current != null) {
+                Map<String, List<ColumnInfo>> columns = new HashMap<>(current.columns());
+                for (String tableName : tableNames) {
+                    columns.put(tableName, loaded.getOrDefault(tableName, Collections.emptyList()));
+                }
+                snapshot = new Snapshot(current.tables(), current.tableMap(), Map.copyOf(columns),
+                        current.loadedAt());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the snapshot, the next lookup rebuilds it.
+     * <p>
+     * Takes the same lock as the refreshes, so one that read the snapshot before cannot put it back afterward.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            snapshot = null;
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAt() < maxAgeNanos) {
+            return current;
+        }
+        synchronized (this) {
+            // another thread may have rebuilt it while this one waited
+            current = snapshot;
+            if (current == null || System.nanoTime() - current.loadedAt() >= maxAgeNanos) {
+                current = load();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot load() {
+        long start = System.nanoTime();
+        List<TableInfo> tables = List.copyOf(tableMapper.findAllTables());
+        Map<String, TableInfo> tableMap = tables.stream()
+                .collect(Collectors.toUnmodifiableMap(TableInfo::getTableName, Function.identity()));
+        Map<String, List<ColumnInfo>> grouped = new HashMap<>(tables.size());
+        for (ColumnInfo column : columnMapper.findAllColumns()) {
+            grouped.computeIfAbsent(column.getTableName(), key -> new ArrayList<>()).add(column);
+        }
+        Map<String, List<ColumnInfo>> columns = grouped.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+        logger.debug("Loaded catalog of {} tables in {} ms.", tables.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(tables, tableMap, columns, System.nanoTime());
+    }
+
+    private record Snapshot(List<TableInfo> tables, Map<String, TableInfo> tableMap,
+                            Map<String, List<ColumnInfo>> columns, long loadedAt) {
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.exploiter.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Invalidates the {@link CatalogCache} when PostgreSQL notifies a DDL change.
+ * <p>
+ * Holds one connection of the pool for as long as it runs, listening on the configured channel. The
+ * notifications are sent by the event trigger in {@code sql/catalog-notify.sql}, which has to be installed
+ * by a superuser. Enabled with {@code exploiter.catalog.listen=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "exploiter.catalog.listen", havingValue = "true")
+public class CatalogChangeListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeListener.class);
+
+    private static final int POLL_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final CatalogCache catalogCache;
+    private final String channel;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * Constructor for CatalogChangeListener.
+     *
+     * @param dataSource   a {@link DataSource} object
+     * @param catalogCache a {@link CatalogCache} object
+     * @param channel      the notification channel
+     * @param retry        how long to wait before reconnecting after the connection was lost
+     */
+    public CatalogChangeListener(DataSource dataSource, CatalogCache catalogCache,
+                                 @Value("${exploiter.catalog.channel:catalog_changed}") String channel,
+                                 @Value("${exploiter.catalog.retry:30s}") Duration retry) {
+        this.dataSource = dataSource;
+        this.catalogCache = catalogCache;
+        this.channel = channel;
+        this.retryMillis = retry.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "catalog-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        listener.interrupt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + connection.unwrap(PGConnection.class).escapeIdentifier(channel));
+                }
+                // changes made while not listening were missed
+                catalogCache.invalidate();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        logger.debug("Catalog changed by {}.", notifications[0].getParameter());
+                        catalogCache.invalidate();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Listen on {} failed, retry in {} ms.", channel, retryMillis, e);
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.exploiter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.server.starter.exploiter.domain.Template;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Compiled FreeMarker templates keyed by template id.
+ * <p>
+ * An entry is only reused while the last modified date of the template matches the one it was compiled
+ * from, so a change made elsewhere is still picked up. {@code TemplateService} evicts on modify and remove.
+ */
+@Component
+public class CompiledTemplateCache {
+
+    private static final String CACHE_NAME = "compiledTemplate";
+
+    private final Configuration cfg = new Configuration(Configuration.VERSION_2_3_33);
+
+    private final Cache<Long, Compiled> cache;
+
+    /**
+     * Constructor for CompiledTemplateCache.
+     *
+     * @param meterRegistry     a {@link MeterRegistry} object
+     * @param maximumSize       the maximum number of templates kept
+     * @param expireAfterAccess how long a template is kept after its last use
+     */
+    public CompiledTemplateCache(MeterRegistry meterRegistry,
+                                 @Value("${cache.compiled-template.maximum-size:1000}") long maximumSize,
+                                 @Value("${cache.compiled-template.expire-after-access:1h}")
+                                 Duration expireAfterAccess) {
+        cfg.setDefaultEncoding("UTF-8");
+        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the compiled form of the template, parsing it on a miss or when it changed since.
+     *
+     * @param template the template
+     * @return the compiled template
+     * @throws IOException if the template content cannot be parsed
+     */
+    public freemarker.template.Template get(Template template) throws IOException {
+        Instant lastModifiedDate = template.getLastModifiedDate().orElse(null);
+        Compiled compiled = cache.getIfPresent(template.getId());
+        if (compiled == null || !Objects.equals(compiled.lastModifiedDate(), lastModifiedDate)) {
+            compiled = new Compiled(lastModifiedDate, compile(template));
+            cache.put(template.getId(), compiled);
+        }
+        return compiled.template();
+    }
+
+    /**
+     * Evicts the compiled template.
+     *
+     * @param id the template id
+     */
+    public void evict(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    private freemarker.template.Template compile(Template template) throws IOException {
+        return new freemarker.template.Template(template.getName(), new StringReader(template.getContent()), cfg);
+    }
+
+    private record Compiled(Instant lastModifiedDate, freemarker.template.Template template) {
+    }
+
+}
@@ -21,9 +21,11 @@ import com.server.starter.exploiter.domain.TableInfo;
 import com.server.starter.exploiter.service.DBService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -75,4 +77,20 @@ public class DBController {
         }
         return ResponseEntity.ok(list);
     }
+
+    /**
+     * 重新加载表结构缓存
+     *
+     * @return 成功返回200状态码，异常时返回417状态码
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh() {
+        try {
+            dbService.refresh();
+        } catch (Exception e) {
+            logger.error("Refresh catalog occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
 }
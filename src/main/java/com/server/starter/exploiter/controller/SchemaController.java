@@ -16,16 +16,17 @@
 
 package com.server.starter.exploiter.controller;
 
-import cn.hutool.poi.excel.ExcelReader;
-import cn.hutool.poi.excel.ExcelUtil;
-import cn.hutool.poi.excel.ExcelWriter;
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.exploiter.dto.FieldDTO;
 import com.server.starter.exploiter.dto.SchemaDTO;
 import com.server.starter.exploiter.service.FieldService;
 import com.server.starter.exploiter.service.SchemaService;
 import com.server.starter.exploiter.vo.FieldVO;
+import com.server.starter.exploiter.vo.SchemaSyncVO;
 import com.server.starter.exploiter.vo.SchemaVO;
 import com.server.starter.exploiter.vo.TemplateVO;
+import com.server.starter.system.log.Operation;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -38,6 +39,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 
@@ -85,6 +87,30 @@ public class SchemaController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the schemas.
+     * @return A slice of records with the cursor of the next slice, or 204 status code if an error occurs.
+     */
+    @PreAuthorize("hasAuthority('SCOPE_schemas:read')")
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<SchemaVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                        boolean descending, String name) {
+        KeysetSlice<SchemaVO> voSlice;
+        try {
+            voSlice = schemaService.scroll(after, size, sortBy, descending, name);
+        } catch (Exception e) {
+            logger.error("Scroll schema occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * Fetches a record by ID.
      *
@@ -132,6 +158,7 @@ public class SchemaController {
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
     @PostMapping
+    @Operation("Create schema")
     public ResponseEntity<SchemaVO> create(@RequestBody @Valid SchemaDTO dto) {
         SchemaVO vo;
         try {
@@ -156,6 +183,7 @@ public class SchemaController {
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
     @PutMapping("/{id}")
+    @Operation("Modify schema")
     public ResponseEntity<SchemaVO> modify(@PathVariable Long id, @RequestBody @Valid SchemaDTO dto) {
         SchemaVO vo;
         try {
@@ -179,6 +207,7 @@ public class SchemaController {
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
     @DeleteMapping("/{id}")
+    @Operation("Remove schema")
     public ResponseEntity<Void> remove(@PathVariable Long id) {
         try {
             schemaService.remove(id);
@@ -215,6 +244,7 @@ public class SchemaController {
      * @return The list of modified fields, or 204 status code if an error occurs.
      */
     @PatchMapping("/{id}/fields")
+    @Operation("Modify schema fields")
     public ResponseEntity<List<FieldVO>> modifyFields(@PathVariable Long id, @RequestBody List<FieldDTO> dtoList) {
         List<FieldVO> voList;
         try {
@@ -236,6 +266,7 @@ public class SchemaController {
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
     @PatchMapping("/{id}/sync")
+    @Operation("Sync schema")
     public ResponseEntity<Void> sync(@PathVariable Long id) {
         try {
             schemaService.sync(id);
@@ -246,6 +277,25 @@ public class SchemaController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Synchronizes all records in one pass.
+     *
+     * @return The records that changed, or 417 status code if an error occurs.
+     */
+    @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
+    @PatchMapping("/sync")
+    @Operation("Sync schemas")
+    public ResponseEntity<List<SchemaSyncVO>> sync() {
+        List<SchemaSyncVO> voList;
+        try {
+            voList = schemaService.syncAll();
+        } catch (Exception e) {
+            logger.error("Sync occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok(voList);
+    }
+
     /**
      * Downloads the record as a ZIP file.
      *
@@ -255,6 +305,7 @@ public class SchemaController {
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
     @PostMapping("/{id}/download")
+    @Operation("Generate schema")
     public ResponseEntity<Void> download(@PathVariable Long id, HttpServletResponse response) {
         // 设置响应头
         response.setContentType("application/zip");
@@ -268,6 +319,30 @@ public class SchemaController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Downloads several records as one ZIP file, with a folder per record. The progress is not reported, the
+     * file is streamed as it is generated.
+     *
+     * @param ids      The record IDs.
+     * @param response The HTTP response.
+     * @return 200 status code if successful, or 417 status code if an error occurs.
+     */
+    @PreAuthorize("hasAuthority('SCOPE_schemas:write')")
+    @PostMapping("/download")
+    @Operation("Generate schemas")
+    public ResponseEntity<Void> download(@RequestBody List<Long> ids, HttpServletResponse response) {
+        // 设置响应头
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"schemas.zip\"");
+        try (OutputStream os = response.getOutputStream()) {
+            schemaService.generate(ids, os);
+        } catch (Exception e) {
+            logger.error("Generate occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Preview a record.
      *
@@ -290,41 +365,39 @@ public class SchemaController {
     /**
      * Import the records.
      *
-     * @return 200 status code if successful, or 417 status code if an error occurs.
+     * @param file The xlsx workbook, with the property names in the first row.
+     * @return The import result with the errors of the rejected rows, or 417 status code if an error occurs.
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:import')")
     @PostMapping("/import")
-    public ResponseEntity<List<SchemaVO>> importFromExcel(MultipartFile file) {
-        List<SchemaVO> voList;
-        try {
-            ExcelReader reader = ExcelUtil.getReader(file.getInputStream());
-            List<SchemaDTO> dtoList = reader.readAll(SchemaDTO.class);
-            voList = schemaService.createAll(dtoList);
+    @Operation("Import schemas")
+    public ResponseEntity<ImportResult> importFromExcel(MultipartFile file) {
+        ImportResult result;
+        // 逐行流式读取，校验后分批写入
+        try (InputStream is = file.getInputStream()) {
+            result = schemaService.importFrom(is);
         } catch (Exception e) {
             logger.error("Import schemas occurred an error: ", e);
             return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
         }
-        return ResponseEntity.ok().body(voList);
+        return ResponseEntity.ok().body(result);
     }
 
     /**
      * Export the records.
      *
-     * @return The list of records value objects, or 417 status code if an error occurs.
+     * @param ids      The record IDs, or all records if empty.
+     * @param response The HTTP response.
+     * @return 200 status code if successful, or 417 status code if an error occurs.
      */
     @PreAuthorize("hasAuthority('SCOPE_schemas:export')")
     @GetMapping("/export")
     public ResponseEntity<Void> exportToExcel(@RequestParam(required = false) List<Long> ids, HttpServletResponse response) {
-        try (ExcelWriter writer = ExcelUtil.getWriter(true);
-             ServletOutputStream out = response.getOutputStream()) {
-            List<SchemaVO> voList = schemaService.retrieve(ids);
-
-            writer.write(voList, true);
-            //response为HttpServletResponse对象
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
-            response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
-
-            writer.flush(out, true);
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
+        // 分页读取并通过 SXSSF 直接写入响应流
+        try (ServletOutputStream out = response.getOutputStream()) {
+            schemaService.export(ids, out);
         } catch (Exception e) {
             logger.error("Export schemas occurred an error: ", e);
             return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
@@ -16,9 +16,8 @@
 
 package com.server.starter.exploiter.controller;
 
-import cn.hutool.poi.excel.ExcelReader;
-import cn.hutool.poi.excel.ExcelUtil;
-import cn.hutool.poi.excel.ExcelWriter;
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.exploiter.dto.TemplateDTO;
 import com.server.starter.exploiter.service.TemplateService;
 import com.server.starter.exploiter.vo.TemplateVO;
@@ -34,6 +33,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -77,6 +77,30 @@ public class TemplateController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the schemas.
+     * @return A slice of records with the cursor of the next slice, or 204 status code if an error occurs.
+     */
+    @PreAuthorize("hasAuthority('SCOPE_templates:read')")
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<TemplateVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                          boolean descending, String name) {
+        KeysetSlice<TemplateVO> voSlice;
+        try {
+            voSlice = templateService.scroll(after, size, sortBy, descending, name);
+        } catch (Exception e) {
+            logger.error("Scroll template occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * Fetches a record by ID.
      *
@@ -202,40 +226,38 @@ public class TemplateController {
     /**
      * Import the records.
      *
-     * @return 200 status code if successful, or 417 status code if an error occurs.
+     * @param file The xlsx workbook, with the property names in the first row.
+     * @return The import result with the errors of the rejected rows, or 417 status code if an error occurs.
      */
     @PreAuthorize("hasAuthority('SCOPE_templates:import')")
     @PostMapping("/import")
-    public ResponseEntity<List<TemplateVO>> importFromExcel(MultipartFile file) {
-        List<TemplateVO> voList;
-        try (ExcelReader reader = ExcelUtil.getReader(file.getInputStream())) {
-            List<TemplateDTO> dtoList = reader.readAll(TemplateDTO.class);
-            voList = templateService.createAll(dtoList);
+    public ResponseEntity<ImportResult> importFromExcel(MultipartFile file) {
+        ImportResult result;
+        // 逐行流式读取，校验后分批写入
+        try (InputStream is = file.getInputStream()) {
+            result = templateService.importFrom(is);
         } catch (Exception e) {
             logger.error("Import template occurred an error: ", e);
             return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
         }
-        return ResponseEntity.ok().body(voList);
+        return ResponseEntity.ok().body(result);
     }
 
     /**
      * Export the records.
      *
-     * @return The list of records value objects, or 417 status code if an error occurs.
+     * @param ids      The record IDs, or all records if empty.
+     * @param response The HTTP response.
+     * @return 200 status code if successful, or 417 status code if an error occurs.
      */
     @PreAuthorize("hasAuthority('SCOPE_templates:export')")
     @GetMapping("/export")
     public ResponseEntity<Void> exportToExcel(@RequestParam(required = false) List<Long> ids, HttpServletResponse response) {
-        try (ExcelWriter writer = ExcelUtil.getWriter(true);
-             ServletOutputStream out = response.getOutputStream()) {
-            List<TemplateVO> voList = templateService.retrieve(ids);
-
-            writer.write(voList, true);
-            //response为HttpServletResponse对象
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
-            response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
-
-            writer.flush(out, true);
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
+        // 分页读取并通过 SXSSF 直接写入响应流
+        try (ServletOutputStream out = response.getOutputStream()) {
+            templateService.export(ids, out);
         } catch (Exception e) {
             logger.error("Export template occurred an error: ", e);
             return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
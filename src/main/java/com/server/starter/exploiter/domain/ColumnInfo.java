@@ -18,6 +18,7 @@ package com.server.starter.exploiter.domain;
 
 public class ColumnInfo {
 
+    private String tableName;
     private String columnName;
     private String dataType;
     private Integer characterMaximumLength;
@@ -26,6 +27,14 @@ public class ColumnInfo {
     private String columnDefault;
     private String columnComment;
 
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
     public String getColumnName() {
         return columnName;
     }
@@ -18,8 +18,10 @@ package com.server.starter.exploiter.mapper;
 
 import com.server.starter.exploiter.domain.ColumnInfo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,9 +32,41 @@ import java.util.List;
 @Mapper
 public interface ColumnMapper {
 
-    @Select("SELECT column_name, udt_name as data_type, character_maximum_length, is_identity as identity, is_nullable as nullable, column_default, col_description(pg_class.oid, ordinal_position) AS column_comment\n" +
+    @Select("SELECT table_name, column_name, udt_name as data_type, character_maximum_length, is_identity as identity, is_nullable as nullable, column_default, col_description(pg_class.oid, ordinal_position) AS column_comment\n" +
             "FROM information_schema.columns\n" +
-            "JOIN pg_class ON table_name = relname\n" +
-            "WHERE table_schema = 'public' AND table_name = #{tableName}")
+            "JOIN pg_namespace ON nspname = table_schema\n" +
+            "JOIN pg_class ON relnamespace = pg_namespace.oid AND relname = table_name\n" +
+            "WHERE table_schema = 'public' AND table_name = #{tableName}\n" +
+            "ORDER BY ordinal_position")
     List<ColumnInfo> findAllColumnsByName(String tableName);
+
+    /**
+     * 查询 public 下所有表的字段，按表名和字段顺序排列
+     *
+     * @return 字段信息
+     */
+    @Select("SELECT table_name, column_name, udt_name as data_type, character_maximum_length, is_identity as identity, is_nullable as nullable, column_default, col_description(pg_class.oid, ordinal_position) AS column_comment\n" +
+            "FROM information_schema.columns\n" +
+            "JOIN pg_namespace ON nspname = table_schema\n" +
+            "JOIN pg_class ON relnamespace = pg_namespace.oid AND relname = table_name\n" +
+            "WHERE table_schema = 'public'\n" +
+            "ORDER BY table_name, ordinal_position")
+    List<ColumnInfo> findAllColumns();
+
+    /**
+     * 查询 public 下指定表的字段，按表名和字段顺序排列
+     *
+     * @param tableNames 表名，不能为空
+     * @return 字段信息
+     */
+    @Select("<script>" +
+            "SELECT table_name, column_name, udt_name as data_type, character_maximum_length, is_identity as identity, is_nullable as nullable, column_default, col_description(pg_class.oid, ordinal_position) AS column_comment " +
+            "FROM information_schema.columns " +
+            "JOIN pg_namespace ON nspname = table_schema " +
+            "JOIN pg_class ON relnamespace = pg_namespace.oid AND relname = table_name " +
+            "WHERE table_schema = 'public' AND table_name IN " +
+            "<foreach collection='tableNames' item='tableName' open='(' separator=',' close=')'>#{tableName}</foreach> " +
+            "ORDER BY table_name, ordinal_position" +
+            "</script>")
+    List<ColumnInfo> findAllColumnsByNames(@Param("tableNames") Collection<String> tableNames);
 }
@@ -32,7 +32,8 @@ public interface TableMapper {
 
     @Select("SELECT tablename as tableName, obj_description(oid, 'pg_class') AS table_comment\n" +
             "FROM pg_tables\n" +
-            "JOIN pg_class ON pg_tables.tablename = pg_class.relname\n" +
+            "JOIN pg_namespace ON nspname = schemaname\n" +
+            "JOIN pg_class ON relnamespace = pg_namespace.oid AND relname = tablename\n" +
             "WHERE schemaname = 'public'")
     List<TableInfo> findAllTables();
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.exploiter.render;
+
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
+import com.server.starter.exploiter.domain.Template;
+import freemarker.template.TemplateException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Renders templates concurrently on a bounded pool.
+ * <p>
+ * Data models may be shared between templates and must not be modified while rendering. Results are
+ * handed out on the calling thread in the order of the templates, whatever order they finish in. At most
+ * two results per thread are rendered ahead of the one being consumed, so a slow consumer bounds memory.
+ * When the queue is full the caller renders the template itself.
+ */
+@Component
+public class TemplateRenderer implements DisposableBean {
+
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final ThreadPoolExecutor executor;
+    private final int window;
+
+    /**
+     * Constructor for TemplateRenderer.
+     *
+     * @param compiledTemplateCache a {@link CompiledTemplateCache} object
+     * @param threads               the number of rendering threads
+     * @param queueCapacity         the maximum number of templates waiting for a thread
+     */
+    public TemplateRenderer(CompiledTemplateCache compiledTemplateCache,
+                            @Value("${exploiter.render.threads:4}") int threads,
+                            @Value("${exploiter.render.queue-capacity:256}") int queueCapacity) {
+        Assert.isTrue(threads > 0, "threads must be positive.");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be positive.");
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.window = threads * 2;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "template-render-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Renders the templates and passes each result to the consumer, in the order of the templates.
+     *
+     * @param templates the templates
+     * @param dataModel the data model shared by all templates
+     * @param consumer  receives each template with its rendered content
+     * @throws IOException       if a template cannot be parsed or the consumer fails
+     * @throws TemplateException if a template cannot be rendered
+     */
+    public void render(List<Template> templates, Map<String, Object> dataModel,
+                       RenderedConsumer<Template> consumer) throws IOException, TemplateException {
+        render(templates, Function.identity(), template -> dataModel, consumer);
+    }
+
+    /**
+     * Renders the template of each item and passes the results to the consumer, in the order of the items.
+     *
+     * @param items     the items to render
+     * @param template  the template of an item
+     * @param dataModel the data model of an item
+     * @param consumer  receives each item with its rendered content
+     * @param <T>       the item type
+     * @throws IOException       if a template cannot be parsed or the consumer fails
+     * @throws TemplateException if a template cannot be rendered
+     */
+    public <T> void render(List<T> items, Function<T, Template> template,
+                           Function<T, Map<String, Object>> dataModel, RenderedConsumer<T> consumer)
+            throws IOException, TemplateException {
+        if (items.size() == 1) {
+            T item = items.get(0);
+            consumer.accept(item, render(template.apply(item), dataModel.apply(item)));
+            return;
+        }
+
+        Deque<CompletableFuture<String>> pending = new ArrayDeque<>(window);
+        int submitted = 0;
+        try {
+            for (T item : items) {
+                while (submitted < items.size() && pending.size() < window) {
+                    T next = items.get(submitted++);
+                    pending.add(submit(template.apply(next), dataModel.apply(next)));
+                }
+                consumer.accept(item, join(pending.remove()));
+            }
+        } finally {
+            // nothing left on success, on failure the results rendered ahead are not needed
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<String> submit(Template template, Map<String, Object> dataModel) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return render(template, dataModel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (TemplateException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private String render(Template template, Map<String, Object> dataModel) throws IOException, TemplateException {
+        StringWriter writer = new StringWriter();
+        compiledTemplateCache.get(template).process(dataModel, writer);
+        return writer.toString();
+    }
+
+    private static String join(CompletableFuture<String> future) throws IOException, TemplateException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof TemplateException templateException) {
+                throw templateException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Receives a rendered item.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface RenderedConsumer<T> {
+
+        /**
+         * Receives a rendered item.
+         *
+         * @param item     the item
+         * @param rendered the rendered content
+         * @throws IOException if the content cannot be written
+         */
+        void accept(T item, String rendered) throws IOException;
+    }
+
+}
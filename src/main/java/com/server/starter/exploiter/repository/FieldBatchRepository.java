@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.exploiter.repository;
+
+import com.server.starter.exploiter.domain.Field;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes fields with JDBC batch statements, for syncs that touch many schemas at once.
+ * <p>
+ * Only the columns derived from the catalog are written, the flags edited by hand
+ * (unique, queryable, editable, enabled) are left as they are on update.
+ */
+@Repository
+public class FieldBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO fields (schema_id, name, column_name, data_type, length, " +
+            "field_type, form_type, ts_type, nullable, is_unique, queryable, editable, comment, created_by, " +
+            "created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, false, false, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE fields SET name = ?, column_name = ?, data_type = ?, " +
+            "length = ?, field_type = ?, form_type = ?, ts_type = ?, nullable = ?, comment = ?, " +
+            "last_modified_by = ?, last_modified_date = ? WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM fields WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final int batchSize;
+
+    /**
+     * Constructor for FieldBatchRepository.
+     *
+     * @param jdbcTemplate a {@link JdbcTemplate} object
+     * @param auditorAware a {@link AuditorAware} object
+     * @param batchSize    the maximum number of statements sent at once
+     */
+    public FieldBatchRepository(JdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware,
+                                @Value("${exploiter.sync.batch-size:500}") int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be positive.");
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts fields.
+     *
+     * @param fields the fields
+     */
+    public void insertAll(List<Field> fields) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, fields, batchSize, (ps, field) -> {
+            ps.setLong(1, field.getSchemaId());
+            setColumns(ps, 2, field);
+            ps.setString(11, auditor);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    /**
+     * Updates the catalog derived columns of fields.
+     *
+     * @param fields the fields, with their ids
+     */
+    public void updateAll(List<Field> fields) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, fields, batchSize, (ps, field) -> {
+            setColumns(ps, 1, field);
+            ps.setString(10, auditor);
+            ps.setTimestamp(11, now);
+            ps.setLong(12, field.getId());
+        });
+    }
+
+    /**
+     * Deletes fields.
+     *
+     * @param ids the field ids
+     */
+    public void deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, batchSize, (ps, id) -> ps.setLong(1, id));
+    }
+
+    // name, column_name, data_type, length, field_type, form_type, ts_type, nullable, comment
+    private static void setColumns(PreparedStatement ps, int index, Field field) throws SQLException {
+        ps.setString(index, field.getName());
+        ps.setString(index + 1, field.getColumnName());
+        ps.setString(index + 2, field.getDataType());
+        if (field.getLength() != null) {
+            ps.setInt(index + 3, field.getLength());
+        } else {
+            ps.setNull(index + 3, Types.SMALLINT);
+        }
+        ps.setString(index + 4, field.getFieldType());
+        ps.setString(index + 5, field.getFormType());
+        ps.setString(index + 6, field.getTsType());
+        ps.setBoolean(index + 7, field.isNullable());
+        ps.setString(index + 8, field.getComment());
+    }
+
+}
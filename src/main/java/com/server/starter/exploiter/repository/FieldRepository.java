@@ -21,6 +21,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -34,4 +35,6 @@ public interface FieldRepository extends CrudRepository<Field, Long>,
         PagingAndSortingRepository<Field, Long> {
 
     List<Field> findAllBySchemaId(Long schemaId);
+
+    List<Field> findAllBySchemaIdIn(Collection<Long> schemaIds);
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.exploiter.repository;
+
+import com.server.starter.exploiter.domain.Schema;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Inserts schemas with JDBC batch statements, for imports of many rows.
+ */
+@Repository
+public class SchemaBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO schemas (name, reference, domain, templates, enabled, " +
+            "created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Constructor for SchemaBatchRepository.
+     *
+     * @param jdbcTemplate a {@link JdbcTemplate} object
+     * @param auditorAware a {@link AuditorAware} object
+     */
+    public SchemaBatchRepository(JdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * Inserts schemas in a single batch.
+     *
+     * @param schemas the schemas
+     */
+    public void insertAll(List<Schema> schemas) {
+        if (schemas.isEmpty()) {
+            return;
+        }
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, schemas, schemas.size(), (ps, schema) -> {
+            ps.setString(1, schema.getName());
+            ps.setString(2, schema.getReference());
+            ps.setString(3, schema.getDomain());
+            if (CollectionUtils.isEmpty(schema.getTemplates())) {
+                ps.setNull(4, Types.ARRAY);
+            } else {
+                // the column is varchar[], as Spring Data JDBC writes it
+                ps.setArray(4, ps.getConnection().createArrayOf("varchar",
+                        schema.getTemplates().stream().map(String::valueOf).toArray()));
+            }
+            ps.setBoolean(5, schema.isEnabled());
+            ps.setString(6, auditor);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+}
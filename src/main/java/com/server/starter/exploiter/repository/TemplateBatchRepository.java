@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.exploiter.repository;
+
+import com.server.starter.exploiter.domain.Template;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Inserts templates with JDBC batch statements, for imports of many rows.
+ */
+@Repository
+public class TemplateBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO templates (name, suffix, content, type, version, enabled, " +
+            "created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Constructor for TemplateBatchRepository.
+     *
+     * @param jdbcTemplate a {@link JdbcTemplate} object
+     * @param auditorAware a {@link AuditorAware} object
+     */
+    public TemplateBatchRepository(JdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * Inserts templates in a single batch.
+     *
+     * @param templates the templates
+     */
+    public void insertAll(List<Template> templates) {
+        if (templates.isEmpty()) {
+            return;
+        }
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, templates, templates.size(), (ps, template) -> {
+            ps.setString(1, template.getName());
+            ps.setString(2, template.getSuffix());
+            ps.setString(3, template.getContent());
+            if (template.getType() != null) {
+                ps.setLong(4, template.getType());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, template.getVersion());
+            ps.setBoolean(6, template.isEnabled());
+            ps.setString(7, auditor);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+}
@@ -31,4 +31,9 @@ public interface DBService {
     List<TableInfo> findAllTables();
 
     List<ColumnInfo> findAllColumnsByTableName(String tableName);
+
+    /**
+     * Rebuilds the cached catalog, to pick up DDL changes right away.
+     */
+    void refresh();
 }
@@ -17,7 +17,10 @@
 package com.server.starter.exploiter.service;
 
 
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.exploiter.dto.SchemaDTO;
+import com.server.starter.exploiter.vo.SchemaSyncVO;
 import com.server.starter.exploiter.vo.SchemaVO;
 import com.server.starter.exploiter.vo.TemplateVO;
 import com.server.starter.service.ServletBasicService;
@@ -25,6 +28,7 @@ import freemarker.template.TemplateException;
 import org.springframework.data.domain.Page;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 
@@ -47,6 +51,18 @@ public interface SchemaService extends ServletBasicService<SchemaDTO, SchemaVO>
      */
     Page<SchemaVO> retrieve(int page, int size, String sortBy, boolean descending, String name);
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<SchemaVO> scroll(String after, int size, String sortBy, boolean descending, String name);
+
     /**
      * Generates a template.
      *
@@ -57,6 +73,17 @@ public interface SchemaService extends ServletBasicService<SchemaDTO, SchemaVO>
      */
     void generate(Long id, OutputStream os) throws IOException, TemplateException;
 
+    /**
+     * Generates several schemas into one archive, with a folder per schema. The progress is only logged, the
+     * caller sees the archive as it is written.
+     *
+     * @param ids The primary keys of the schemas.
+     * @param os  The output stream to write the archive to.
+     * @throws IOException       If an I/O error occurs.
+     * @throws TemplateException If a template processing error occurs.
+     */
+    void generate(List<Long> ids, OutputStream os) throws IOException, TemplateException;
+
     /**
      * Previews the template.
      *
@@ -74,4 +101,29 @@ public interface SchemaService extends ServletBasicService<SchemaDTO, SchemaVO>
      */
     void sync(Long id);
 
+    /**
+     * Synchronizes all schemas with their tables in one pass, writing only the fields that changed.
+     *
+     * @return the schemas that changed or whose table is missing, with the affected columns.
+     */
+    List<SchemaSyncVO> syncAll();
+
+    /**
+     * Writes the records as an xlsx workbook, reading them page by page.
+     *
+     * @param ids The IDs of the records, or empty for all records.
+     * @param os  The output stream, left open.
+     * @throws IOException If the workbook could not be written.
+     */
+    void export(List<Long> ids, OutputStream os) throws IOException;
+
+    /**
+     * Imports records from the first sheet of an xlsx workbook, validating and inserting them in batches.
+     *
+     * @param is The workbook, left open.
+     * @return The number of rows read and imported, and the errors of the rejected rows.
+     * @throws IOException If the workbook could not be read.
+     */
+    ImportResult importFrom(InputStream is) throws IOException;
+
 }
@@ -16,11 +16,18 @@
 
 package com.server.starter.exploiter.service;
 
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.exploiter.dto.TemplateDTO;
 import com.server.starter.exploiter.vo.TemplateVO;
 import com.server.starter.service.ServletBasicService;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface TemplateService extends ServletBasicService<TemplateDTO, TemplateVO> {
 
     /**
@@ -35,5 +42,35 @@ public interface TemplateService extends ServletBasicService<TemplateDTO, Templa
      */
     Page<TemplateVO> retrieve(int page, int size, String sortBy, boolean descending, String name);
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<TemplateVO> scroll(String after, int size, String sortBy, boolean descending, String name);
+
     boolean exists(String name, String suffix, String version, Long id);
+
+    /**
+     * Writes the records as an xlsx workbook, reading them page by page.
+     *
+     * @param ids The IDs of the records, or empty for all records.
+     * @param os  The output stream, left open.
+     * @throws IOException If the workbook could not be written.
+     */
+    void export(List<Long> ids, OutputStream os) throws IOException;
+
+    /**
+     * Imports records from the first sheet of an xlsx workbook, validating and inserting them in batches.
+     *
+     * @param is The workbook, left open.
+     * @return The number of rows read and imported, and the errors of the rejected rows.
+     * @throws IOException If the workbook could not be read.
+     */
+    ImportResult importFrom(InputStream is) throws IOException;
 }
@@ -16,10 +16,9 @@
 
 package com.server.starter.exploiter.service.impl;
 
+import com.server.starter.exploiter.cache.CatalogCache;
 import com.server.starter.exploiter.domain.ColumnInfo;
 import com.server.starter.exploiter.domain.TableInfo;
-import com.server.starter.exploiter.mapper.ColumnMapper;
-import com.server.starter.exploiter.mapper.TableMapper;
 import com.server.starter.exploiter.service.DBService;
 import org.springframework.stereotype.Service;
 
@@ -33,21 +32,24 @@ import java.util.List;
 @Service
 public class DBServiceImpl implements DBService {
 
-    private final TableMapper tableMapper;
-    private final ColumnMapper columnMapper;
+    private final CatalogCache catalogCache;
 
-    public DBServiceImpl(TableMapper tableMapper, ColumnMapper columnMapper) {
-        this.tableMapper = tableMapper;
-        this.columnMapper = columnMapper;
+    public DBServiceImpl(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
     }
 
     @Override
     public List<TableInfo> findAllTables() {
-        return tableMapper.findAllTables();
+        return catalogCache.tables();
     }
 
     @Override
     public List<ColumnInfo> findAllColumnsByTableName(String tableName) {
-        return columnMapper.findAllColumnsByName(tableName);
+        return catalogCache.columns(tableName);
+    }
+
+    @Override
+    public void refresh() {
+        catalogCache.refresh();
     }
 }
@@ -41,7 +41,7 @@ public class FieldServiceImpl implements FieldService {
 
     @Override
     public List<FieldVO> findAllBySchemaId(Long schemaId) {
-        return fieldRepository.findAllBySchemaId(schemaId).stream().map(this::convert).toList();
+        return convertAll(fieldRepository.findAllBySchemaId(schemaId), FieldVO.class);
     }
 
     @Override
@@ -62,14 +62,4 @@ public class FieldServiceImpl implements FieldService {
         return StreamSupport.stream(savedFields.spliterator(), false)
                 .map(field -> convert(field, FieldVO.class)).toList();
     }
-
-    /**
-     * 类型转换
-     *
-     * @param field 信息
-     * @return FieldVO 输出对象
-     */
-    private FieldVO convert(Field field) {
-        return convert(field, FieldVO.class);
-    }
 }
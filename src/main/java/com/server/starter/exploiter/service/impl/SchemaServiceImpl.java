@@ -16,6 +16,9 @@
 
 package com.server.starter.exploiter.service.impl;
 
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.exploiter.cache.CatalogCache;
 import com.server.starter.exploiter.constants.FieldConstant;
 import com.server.starter.exploiter.constants.FieldTypeEnum;
 import com.server.starter.exploiter.domain.ColumnInfo;
@@ -23,20 +26,26 @@ import com.server.starter.exploiter.domain.Field;
 import com.server.starter.exploiter.domain.Schema;
 import com.server.starter.exploiter.domain.Template;
 import com.server.starter.exploiter.dto.SchemaDTO;
-import com.server.starter.exploiter.mapper.ColumnMapper;
+import com.server.starter.exploiter.render.TemplateRenderer;
+import com.server.starter.exploiter.repository.FieldBatchRepository;
 import com.server.starter.exploiter.repository.FieldRepository;
+import com.server.starter.exploiter.repository.SchemaBatchRepository;
 import com.server.starter.exploiter.repository.SchemaRepository;
 import com.server.starter.exploiter.repository.TemplateRepository;
 import com.server.starter.exploiter.service.SchemaService;
+import com.server.starter.exploiter.vo.SchemaSyncVO;
 import com.server.starter.exploiter.vo.SchemaVO;
 import com.server.starter.exploiter.vo.TemplateVO;
-import freemarker.template.Configuration;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.ExcelImportTemplate;
+import com.server.starter.service.KeysetTemplate;
 import freemarker.template.TemplateException;
-import freemarker.template.TemplateExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -44,9 +53,12 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -55,23 +67,38 @@ public class SchemaServiceImpl implements SchemaService {
 
     private static final Logger logger = LoggerFactory.getLogger(SchemaServiceImpl.class);
 
-    private final Configuration cfg = new Configuration(Configuration.VERSION_2_3_33);
-
     private final SchemaRepository schemaRepository;
     private final FieldRepository fieldRepository;
+    private final FieldBatchRepository fieldBatchRepository;
+    private final SchemaBatchRepository schemaBatchRepository;
     private final TemplateRepository templateRepository;
 
-    private final ColumnMapper columnMapper;
+    private final CatalogCache catalogCache;
+    private final KeysetTemplate keysetTemplate;
+    private final ExcelExportTemplate excelExportTemplate;
+    private final ExcelImportTemplate excelImportTemplate;
+    private final TemplateRenderer templateRenderer;
+    private final int compressionLevel;
 
     public SchemaServiceImpl(SchemaRepository schemaRepository, FieldRepository fieldRepository,
-                             TemplateRepository templateRepository, ColumnMapper columnMapper) {
+                             FieldBatchRepository fieldBatchRepository, SchemaBatchRepository schemaBatchRepository,
+                             TemplateRepository templateRepository, CatalogCache catalogCache,
+                             KeysetTemplate keysetTemplate, ExcelExportTemplate excelExportTemplate,
+                             ExcelImportTemplate excelImportTemplate, TemplateRenderer templateRenderer,
+                             @Value("${exploiter.generate.compression-level:-1}") int compressionLevel) {
+        Assert.isTrue(compressionLevel >= Deflater.DEFAULT_COMPRESSION && compressionLevel <= Deflater.BEST_COMPRESSION,
+                "compressionLevel must be between -1 and 9.");
         this.schemaRepository = schemaRepository;
         this.fieldRepository = fieldRepository;
+        this.fieldBatchRepository = fieldBatchRepository;
+        this.schemaBatchRepository = schemaBatchRepository;
         this.templateRepository = templateRepository;
-        this.columnMapper = columnMapper;
-
-        cfg.setDefaultEncoding("UTF-8");
-        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        this.catalogCache = catalogCache;
+        this.keysetTemplate = keysetTemplate;
+        this.excelExportTemplate = excelExportTemplate;
+        this.excelImportTemplate = excelImportTemplate;
+        this.templateRenderer = templateRenderer;
+        this.compressionLevel = compressionLevel;
     }
 
     @Override
@@ -84,6 +111,16 @@ public class SchemaServiceImpl implements SchemaService {
         return schemaRepository.findAll(pageable).map(this::convert);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<SchemaVO> scroll(String after, int size, String sortBy, boolean descending, String name) {
+        Criteria criteria = StringUtils.hasText(name) ?
+                Criteria.where("name").like("%" + name + "%") : Criteria.empty();
+        return keysetTemplate.scroll(Schema.class, criteria, after, size, sortBy, descending).map(this::convert);
+    }
+
     @Override
     public List<SchemaVO> retrieve(List<Long> ids) {
         if (CollectionUtils.isEmpty(ids)) {
@@ -115,7 +152,7 @@ public class SchemaServiceImpl implements SchemaService {
         Schema schema = convert(dto, Schema.class);
         schema.setEnabled(false);
         schemaRepository.save(schema);
-        List<Field> fields = columnMapper.findAllColumnsByName(dto.getName())
+        List<Field> fields = catalogCache.refresh(dto.getName())
                 .stream().filter(columnInfo -> !FieldConstant.metadata.contains(columnInfo.getColumnName()))
                 .map(columnInfo -> {
                     Field field = new Field();
@@ -155,7 +192,7 @@ public class SchemaServiceImpl implements SchemaService {
             Map<String, Field> fieldMap = fieldRepository.findAllBySchemaId(id).stream()
                     .collect(Collectors.toMap(Field::getColumnName, field -> field));
 
-            List<Field> fields = columnMapper.findAllColumnsByName(schema.getName())
+            List<Field> fields = catalogCache.refresh(schema.getName())
                     .stream().filter(columnInfo -> !FieldConstant.metadata.contains(columnInfo.getColumnName()))
                     .map(columnInfo -> {
                         Field field = new Field();
@@ -171,6 +208,80 @@ public class SchemaServiceImpl implements SchemaService {
         });
     }
 
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public List<SchemaSyncVO> syncAll() {
+        List<Schema> schemas = schemaRepository.findAll();
+        if (schemas.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 一次查询所有表的字段和所有 schema 的属性
+        Map<String, List<ColumnInfo>> columnMap = catalogCache.refresh(
+                schemas.stream().map(Schema::getName).collect(Collectors.toSet()));
+        Map<Long, List<Field>> fieldMap = fieldRepository.findAllBySchemaIdIn(
+                schemas.stream().map(Schema::getId).toList()).stream()
+                .collect(Collectors.groupingBy(Field::getSchemaId));
+
+        List<Field> inserts = new ArrayList<>();
+        List<Field> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        List<SchemaSyncVO> voList = new ArrayList<>();
+        for (Schema schema : schemas) {
+            SchemaSyncVO vo = new SchemaSyncVO();
+            vo.setId(schema.getId());
+            vo.setName(schema.getName());
+            List<ColumnInfo> columns = columnMap.get(schema.getName());
+            if (columns == null) {
+                // 表不存在时保留属性，避免误删
+                vo.setMissing(true);
+                voList.add(vo);
+                continue;
+            }
+            Map<String, Field> existing = new HashMap<>();
+            for (Field field : fieldMap.getOrDefault(schema.getId(), Collections.emptyList())) {
+                if (existing.putIfAbsent(field.getColumnName(), field) != null) {
+                    // 重复的属性一并清理
+                    deletes.add(field.getId());
+                    vo.getRemoved().add(field.getColumnName());
+                }
+            }
+            for (ColumnInfo columnInfo : columns) {
+                if (FieldConstant.metadata.contains(columnInfo.getColumnName())) {
+                    continue;
+                }
+                Field field = existing.remove(columnInfo.getColumnName());
+                if (field == null) {
+                    field = new Field();
+                    field.setSchemaId(schema.getId());
+                    constructField(field, columnInfo);
+                    inserts.add(field);
+                    vo.getAdded().add(columnInfo.getColumnName());
+                } else {
+                    FieldState before = FieldState.of(field);
+                    constructField(field, columnInfo);
+                    if (!before.equals(FieldState.of(field))) {
+                        updates.add(field);
+                        vo.getUpdated().add(columnInfo.getColumnName());
+                    }
+                }
+            }
+            existing.values().forEach(field -> {
+                deletes.add(field.getId());
+                vo.getRemoved().add(field.getColumnName());
+            });
+            if (vo.isChanged()) {
+                voList.add(vo);
+            }
+        }
+
+        fieldBatchRepository.deleteAllById(deletes);
+        fieldBatchRepository.updateAll(updates);
+        fieldBatchRepository.insertAll(inserts);
+        logger.info("Synced {} schemas, {} changed, {} fields added, {} updated, {} removed.", schemas.size(),
+                voList.size(), inserts.size(), updates.size(), deletes.size());
+        return voList;
+    }
+
     public void constructField(Field field, ColumnInfo columnInfo) {
         field.setColumnName(columnInfo.getColumnName());
         field.setName(snakeToCamel(columnInfo.getColumnName()));
@@ -214,26 +325,69 @@ public class SchemaServiceImpl implements SchemaService {
         // 准备数据模型
         Map<String, Object> dataModel = createDataModel(schema);
 
-        try (ZipOutputStream zos = new ZipOutputStream(os)) {
-            for (Long templateId : schema.getTemplates()) {
-                // 从数据库加载模板内容
-                Template template = templateRepository.findById(templateId).orElseThrow();
-                String reference = System.getProperty("user.dir") + "/" + schema.getName() + "/" +
-                        formatName(schema, template.getName(), template.getSuffix());
-                writeTemplate(template, dataModel, reference);
-
-                File file = new File(reference);
-                try (FileInputStream fis = new FileInputStream(file)) {
-                    zos.putNextEntry(new ZipEntry(file.getName()));
-                    byte[] buffer = new byte[1024];
-                    int length;
-                    while ((length = fis.read(buffer)) > 0) {
-                        zos.write(buffer, 0, length);
-                    }
-                    zos.closeEntry();
+        try (ZipOutputStream zos = new ZipOutputStream(os, StandardCharsets.UTF_8)) {
+            zos.setLevel(compressionLevel);
+            // 渲染结果直接写入压缩流，writer 不能关闭，否则会连带关闭 zos
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zos, StandardCharsets.UTF_8));
+            // 并发渲染，按模板顺序写入
+            templateRenderer.render(loadTemplates(schema), dataModel, (template, rendered) -> {
+                String name = formatName(schema, template.getName(), template.getSuffix());
+                zos.putNextEntry(new ZipEntry(StringUtils.getFilename(name)));
+                writer.write(rendered);
+                writer.flush();
+                zos.closeEntry();
+            });
+        }
+    }
+
+    @Override
+    public void generate(List<Long> ids, OutputStream os) throws IOException, TemplateException {
+        Assert.notEmpty(ids, "ids must not be empty.");
+        long start = System.nanoTime();
+
+        Map<Long, Schema> schemaMap = schemaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Schema::getId, schema -> schema));
+        List<Schema> schemas = ids.stream().distinct()
+                .map(schemaId -> Optional.ofNullable(schemaMap.get(schemaId)).orElseThrow()).toList();
+        // 所有 schema 共用一次加载的模板，编译结果也由缓存共享
+        Set<Long> templateIds = schemas.stream().map(Schema::getTemplates).filter(Objects::nonNull)
+                .flatMap(Set::stream).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Template> templateMap = templateIds.isEmpty() ? Collections.emptyMap() :
+                templateRepository.findAllById(templateIds).stream()
+                        .collect(Collectors.toMap(Template::getId, template -> template));
+        Map<Long, List<Field>> fieldMap = fieldRepository.findAllBySchemaIdIn(schemaMap.keySet()).stream()
+                .collect(Collectors.groupingBy(Field::getSchemaId));
+
+        List<Rendering> renderings = new ArrayList<>();
+        for (Schema schema : schemas) {
+            Map<String, Object> dataModel = createDataModel(schema,
+                    fieldMap.getOrDefault(schema.getId(), Collections.emptyList()));
+            if (!CollectionUtils.isEmpty(schema.getTemplates())) {
+                for (Long templateId : schema.getTemplates()) {
+                    Template template = Optional.ofNullable(templateMap.get(templateId)).orElseThrow();
+                    renderings.add(new Rendering(schema, template, dataModel));
                 }
             }
         }
+
+        Progress progress = new Progress(schemas.size(), renderings.size());
+        try (ZipOutputStream zos = new ZipOutputStream(os, StandardCharsets.UTF_8)) {
+            zos.setLevel(compressionLevel);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zos, StandardCharsets.UTF_8));
+            // 渲染与写入流水线进行，每个 schema 一个目录
+            templateRenderer.render(renderings, Rendering::template, Rendering::dataModel, (rendering, rendered) -> {
+                Schema schema = rendering.schema();
+                Template template = rendering.template();
+                String name = formatName(schema, template.getName(), template.getSuffix());
+                zos.putNextEntry(new ZipEntry(schema.getName() + "/" + StringUtils.getFilename(name)));
+                writer.write(rendered);
+                writer.flush();
+                zos.closeEntry();
+                progress.advance(schema);
+            });
+        }
+        logger.info("Generated {} schemas, {} files in {} ms.", schemas.size(), renderings.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     @Override
@@ -242,48 +396,61 @@ public class SchemaServiceImpl implements SchemaService {
         // 准备数据模型
         Map<String, Object> dataModel = createDataModel(schema);
 
-        Set<Long> templates = schema.getTemplates();
+        List<Template> templates = loadTemplates(schema);
         List<TemplateVO> voList = new ArrayList<>(templates.size());
-        for (Long templateId : templates) {
-            // 从数据库加载模板内容
-            Template template = templateRepository.findById(templateId).orElseThrow();
-
-            String rendered = renderTemplate(template.getName(), template.getContent(), dataModel);
+        // 并发渲染，按模板顺序收集
+        templateRenderer.render(templates, dataModel, (template, rendered) -> {
             TemplateVO vo = convert(template, TemplateVO.class);
             vo.setName(formatName(schema, template.getName(), template.getSuffix()));
             vo.setContent(rendered);
             voList.add(vo);
-        }
+        });
         return voList;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(List<Long> ids, OutputStream os) throws IOException {
+        Criteria criteria = CollectionUtils.isEmpty(ids) ? Criteria.empty() : Criteria.where("id").in(ids);
+        excelExportTemplate.export(Schema.class, criteria, this::convert, os);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportResult importFrom(InputStream is) throws IOException {
+        return excelImportTemplate.read(is, SchemaDTO.class, dtoList -> schemaBatchRepository.insertAll(
+                dtoList.stream().map(dto -> convert(dto, Schema.class)).toList()));
+    }
+
+    // 一次加载全部模板，顺序与 schema 中一致
+    private List<Template> loadTemplates(Schema schema) {
+        Set<Long> ids = schema.getTemplates();
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        Map<Long, Template> templateMap = templateRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Template::getId, template -> template));
+        return ids.stream().map(templateId -> Optional.ofNullable(templateMap.get(templateId)).orElseThrow())
+                .toList();
+    }
+
     // 创建数据模型
     private Map<String, Object> createDataModel(Schema schema) {
+        return createDataModel(schema, fieldRepository.findAllBySchemaId(schema.getId()));
+    }
+
+    // 创建数据模型，渲染时多线程共享，因此不可修改
+    private Map<String, Object> createDataModel(Schema schema, List<Field> fields) {
         Map<String, Object> dataModel = new HashMap<>();
         dataModel.put("name", schema.getName());
         dataModel.put("domain", schema.getDomain());
         dataModel.put("reference", schema.getReference());
-        List<Field> fields = fieldRepository.findAllBySchemaId(schema.getId());
-        dataModel.put("fields", fields);
-        return dataModel;
-    }
-
-    // 渲染模板并将结果写入文件
-    private void writeTemplate(Template template, Map<String, Object> dataModel, String reference)
-            throws IOException, TemplateException {
-        // 创建输出目录（若不存在）
-        File outputFile = new File(reference);
-        boolean mkdir = outputFile.getParentFile().mkdirs();
-        if (!mkdir) {
-            logger.warn("File path: {} create failure.", reference);
-        }
-
-        try (Writer fileWriter = new FileWriter(outputFile)) {
-            // 将模板内容加载到 FreeMarker 并渲染
-            freemarker.template.Template freemarker = new freemarker.template.Template(template.getName(),
-                    new StringReader(template.getContent()), cfg);
-            freemarker.process(dataModel, fileWriter);
-        }
+        dataModel.put("fields", Collections.unmodifiableList(fields));
+        return Collections.unmodifiableMap(dataModel);
     }
 
     private String formatName(Schema schema, String templateName, String suffix) {
@@ -299,17 +466,6 @@ public class SchemaServiceImpl implements SchemaService {
         return templateName;
     }
 
-    // 渲染模板并将结果写入文件
-    private String renderTemplate(String name, String content, Map<String, Object> dataModel) throws IOException, TemplateException {
-        // 将模板内容加载到 FreeMarker 并渲染
-        try (StringWriter stringWriter = new StringWriter()) {
-            freemarker.template.Template freemarker = new freemarker.template.Template(name,
-                    new StringReader(content), cfg);
-            freemarker.process(dataModel, stringWriter);
-            return stringWriter.toString();
-        }
-    }
-
     private String snakeToCamel(String columnName) {
         if (StringUtils.hasText(columnName)) {
             if (columnName.contains("_")) {
@@ -335,4 +491,50 @@ public class SchemaServiceImpl implements SchemaService {
         vo.setLastModifiedDate(schema.getLastModifiedDate().orElse(null));
         return vo;
     }
+
+    /**
+     * The columns of a field that are derived from the catalog.
+     */
+    private record FieldState(String name, String dataType, Integer length, String fieldType, String formType,
+                              String tsType, boolean nullable, String comment) {
+
+        private static FieldState of(Field field) {
+            return new FieldState(field.getName(), field.getDataType(), field.getLength(), field.getFieldType(),
+                    field.getFormType(), field.getTsType(), field.isNullable(), field.getComment());
+        }
+    }
+
+    private record Rendering(Schema schema, Template template, Map<String, Object> dataModel) {
+    }
+
+    /**
+     * Logs the progress of a bulk generation at most every {@link #INTERVAL_NANOS}. A schema counts as started
+     * once its first file is written.
+     */
+    private static class Progress {
+
+        private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+        private final int schemas;
+        private final int files;
+        private final Set<Long> started = new HashSet<>();
+        private int written;
+        private long lastLogged = System.nanoTime();
+
+        private Progress(int schemas, int files) {
+            this.schemas = schemas;
+            this.files = files;
+        }
+
+        private void advance(Schema schema) {
+            written++;
+            started.add(schema.getId());
+            long now = System.nanoTime();
+            if (now - lastLogged >= INTERVAL_NANOS) {
+                lastLogged = now;
+                logger.info("Generating schemas: {}/{} files written, at schema {} ({}/{} started).", written,
+                        files, schema.getName(), started.size(), schemas);
+            }
+        }
+    }
 }
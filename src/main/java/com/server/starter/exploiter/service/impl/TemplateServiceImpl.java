@@ -16,19 +16,30 @@
 
 package com.server.starter.exploiter.service.impl;
 
+import com.server.starter.domain.ImportResult;
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
 import com.server.starter.exploiter.domain.Template;
 import com.server.starter.exploiter.dto.TemplateDTO;
 import com.server.starter.exploiter.mapper.TemplateMapper;
+import com.server.starter.exploiter.repository.TemplateBatchRepository;
 import com.server.starter.exploiter.repository.TemplateRepository;
 import com.server.starter.exploiter.service.TemplateService;
 import com.server.starter.exploiter.vo.TemplateVO;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.ExcelImportTemplate;
+import com.server.starter.service.KeysetTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.StreamSupport;
 
@@ -37,10 +48,23 @@ public class TemplateServiceImpl implements TemplateService {
 
     private final TemplateRepository templateRepository;
     private final TemplateMapper templateMapper;
-
-    public TemplateServiceImpl(TemplateRepository templateRepository, TemplateMapper templateMapper) {
+    private final KeysetTemplate keysetTemplate;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final ExcelExportTemplate excelExportTemplate;
+    private final ExcelImportTemplate excelImportTemplate;
+    private final TemplateBatchRepository templateBatchRepository;
+
+    public TemplateServiceImpl(TemplateRepository templateRepository, TemplateMapper templateMapper,
+                               KeysetTemplate keysetTemplate, CompiledTemplateCache compiledTemplateCache,
+                               ExcelExportTemplate excelExportTemplate, ExcelImportTemplate excelImportTemplate,
+                               TemplateBatchRepository templateBatchRepository) {
         this.templateRepository = templateRepository;
         this.templateMapper = templateMapper;
+        this.keysetTemplate = keysetTemplate;
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.excelExportTemplate = excelExportTemplate;
+        this.excelImportTemplate = excelImportTemplate;
+        this.templateBatchRepository = templateBatchRepository;
     }
 
     @Override
@@ -53,6 +77,16 @@ public class TemplateServiceImpl implements TemplateService {
         return templateRepository.findAll(pageable).map(this::convert);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<TemplateVO> scroll(String after, int size, String sortBy, boolean descending, String name) {
+        Criteria criteria = StringUtils.hasText(name) ?
+                Criteria.where("name").like("%" + name + "%") : Criteria.empty();
+        return keysetTemplate.scroll(Template.class, criteria, after, size, sortBy, descending).map(this::convert);
+    }
+
     @Override
     public List<TemplateVO> retrieve(List<Long> ids) {
         if (CollectionUtils.isEmpty(ids)) {
@@ -89,6 +123,7 @@ public class TemplateServiceImpl implements TemplateService {
                 .map(existing -> {
                     Template template = convert(dto, existing);
                     template = templateRepository.save(template);
+                    compiledTemplateCache.evict(id);
                     return this.convert(template);
                 })
                 .orElseThrow();
@@ -99,6 +134,7 @@ public class TemplateServiceImpl implements TemplateService {
         Assert.notNull(id, "id must not be null.");
 
         templateRepository.deleteById(id);
+        compiledTemplateCache.evict(id);
     }
 
     @Override
@@ -111,6 +147,24 @@ public class TemplateServiceImpl implements TemplateService {
         return templateRepository.updateEnabledById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(List<Long> ids, OutputStream os) throws IOException {
+        Criteria criteria = CollectionUtils.isEmpty(ids) ? Criteria.empty() : Criteria.where("id").in(ids);
+        excelExportTemplate.export(Template.class, criteria, this::convert, os);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportResult importFrom(InputStream is) throws IOException {
+        return excelImportTemplate.read(is, TemplateDTO.class, dtoList -> templateBatchRepository.insertAll(
+                dtoList.stream().map(dto -> convert(dto, Template.class)).toList()));
+    }
+
     /**
      * 类型转换
      *
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.exploiter.vo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * VO class for the result of syncing a schema with its table.
+ *
+ * @author wq li
+ */
+public class SchemaSyncVO {
+
+    /**
+     * Unique identifier for the schema.
+     */
+    private Long id;
+
+    /**
+     * Name of the schema, which is also its table name.
+     */
+    private String name;
+
+    /**
+     * Indicates whether the table no longer exists, its fields are then kept.
+     */
+    private boolean missing;
+
+    /**
+     * Columns added to the schema.
+     */
+    private final List<String> added = new ArrayList<>();
+
+    /**
+     * Columns whose definition changed.
+     */
+    private final List<String> updated = new ArrayList<>();
+
+    /**
+     * Columns removed from the schema.
+     */
+    private final List<String> removed = new ArrayList<>();
+
+    /**
+     * Gets the unique identifier for the schema.
+     *
+     * @return the schema ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier for the schema.
+     *
+     * @param id the schema ID to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the name of the schema.
+     *
+     * @return the schema name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the schema.
+     *
+     * @param name the schema name to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Checks if the table no longer exists.
+     *
+     * @return true if the table is missing, false otherwise
+     */
+    public boolean isMissing() {
+        return missing;
+    }
+
+    /**
+     * Sets whether the table no longer exists.
+     *
+     * @param missing the missing status to set
+     */
+    public void setMissing(boolean missing) {
+        this.missing = missing;
+    }
+
+    /**
+     * Gets the columns added to the schema.
+     *
+     * @return the column names
+     */
+    public List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Gets the columns whose definition changed.
+     *
+     * @return the column names
+     */
+    public List<String> getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the columns removed from the schema.
+     *
+     * @return the column names
+     */
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Checks if anything changed.
+     *
+     * @return true if the table is missing or any column was added, updated or removed
+     */
+    public boolean isChanged() {
+        return missing || !added.isEmpty() || !updated.isEmpty() || !removed.isEmpty();
+    }
+}
@@ -34,7 +34,9 @@ public abstract class FileRecordBO {
     @NotBlank
     private String type;
 
-    private float size;
+    private long size;
+
+    private String hash;
 
 
     public String getName() {
@@ -61,11 +63,19 @@ public abstract class FileRecordBO {
         this.type = type;
     }
 
-    public float getSize() {
+    public long getSize() {
         return size;
     }
 
-    public void setSize(float size) {
+    public void setSize(long size) {
         this.size = size;
     }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
 }
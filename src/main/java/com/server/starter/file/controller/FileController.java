@@ -16,17 +16,35 @@
 
 package com.server.starter.file.controller;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.file.dto.FileRecordDTO;
 import com.server.starter.file.service.FileRecordService;
 import com.server.starter.file.vo.FileRecordVO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * file controller.
@@ -37,6 +55,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/files")
 public class FileController {
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final Logger logger = LoggerFactory.getLogger(FileController.class);
 
     private final FileRecordService fileRecordService;
@@ -74,6 +97,30 @@ public class FileController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * 游标查询，不统计总数
+     *
+     * @param after      上一页返回的游标，查询首页时为空
+     * @param size       大小
+     * @param sortBy     排序字段
+     * @param descending 排序方向
+     * @param name       名称
+     * @return 查询到数据集及下一页游标，异常时返回204
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:read')")
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<FileRecordVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                            boolean descending, String name) {
+        KeysetSlice<FileRecordVO> voSlice;
+        try {
+            voSlice = fileRecordService.scroll(after, size, sortBy, descending, name);
+        } catch (Exception e) {
+            logger.error("Scroll region occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * 根据 id 查询
      *
@@ -93,6 +140,93 @@ public class FileController {
         return ResponseEntity.ok(vo);
     }
 
+    /**
+     * 下载文件内容，支持单个 Range 请求
+     * <p>
+     * ETag 为内容摘要，If-None-Match、If-Modified-Since 只与记录比较，命中时返回304状态码，不读取存储。
+     * 容器支持 sendfile 且内容保存在本地文件时，交给 Tomcat 由内核直接写入 socket，否则经缓冲区复制到输出流。
+     *
+     * @param id       主键
+     * @param request  请求
+     * @param response 响应
+     * @return 文件内容，记录不存在时返回404状态码，范围无效时返回416状态码，异常时返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:read')")
+    @GetMapping("/{id}/content")
+    public ResponseEntity<Void> content(@PathVariable Long id, ServletWebRequest request,
+                                        HttpServletResponse response) {
+        FileRecordVO vo;
+        try {
+            vo = fileRecordService.fetch(id);
+        } catch (Exception e) {
+            logger.error("Fetch file occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        if (vo == null || !StringUtils.hasText(vo.getHash())) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eTag = "\"" + vo.getHash() + "\"";
+        long lastModified = vo.getLastModifiedDate() != null ? vo.getLastModifiedDate().toEpochMilli() : -1;
+        if (request.checkNotModified(eTag, lastModified)) {
+            // 304，或 If-Match 不满足时的412
+            return ResponseEntity.status(response.getStatus()).build();
+        }
+
+        long size = vo.getSize();
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.hasText(range) && rangeApplies(request, eTag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // 多个范围时返回完整内容
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    Assert.isTrue(start < size && start <= end, "range not satisfiable.");
+                    status = HttpStatus.PARTIAL_CONTENT;
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).build();
+            }
+        }
+
+        response.setStatus(status.value());
+        response.setContentType(vo.getType());
+        response.setContentLengthLong(end - start + 1);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(vo.getName(), StandardCharsets.UTF_8).build().toString());
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        if (HttpMethod.HEAD.matches(request.getRequest().getMethod()) || size == 0) {
+            return ResponseEntity.status(status).build();
+        }
+        try {
+            HttpServletRequest servletRequest = request.getRequest();
+            Path file = Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORT)) ?
+                    fileRecordService.file(vo.getPath()) : null;
+            if (file != null) {
+                // 响应提交时由 Tomcat 发送，结束位置不包含在内
+                servletRequest.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                servletRequest.setAttribute(SENDFILE_START, start);
+                servletRequest.setAttribute(SENDFILE_END, end + 1);
+                return ResponseEntity.status(status).build();
+            }
+            try (WritableByteChannel target = Channels.newChannel(response.getOutputStream())) {
+                fileRecordService.transfer(vo.getPath(), start, end - start + 1, target);
+            }
+        } catch (Exception e) {
+            logger.error("Download file occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.status(status).build();
+    }
+
     /**
      * 添加信息
      *
@@ -112,6 +246,25 @@ public class FileController {
         return ResponseEntity.status(HttpStatus.CREATED).body(vo);
     }
 
+    /**
+     * 上传文件
+     *
+     * @param file 文件
+     * @return 如果上传成功，返回文件记录，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FileRecordVO> upload(@RequestPart MultipartFile file) {
+        FileRecordVO vo;
+        try {
+            vo = fileRecordService.upload(file);
+        } catch (Exception e) {
+            logger.error("Upload file occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(vo);
+    }
+
     /**
      * 删除信息
      *
@@ -129,4 +282,29 @@ public class FileController {
         }
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * If-Range 与当前内容不一致时忽略 Range，返回完整内容
+     *
+     * @param request      请求
+     * @param eTag         当前 ETag
+     * @param lastModified 当前最后修改时间
+     * @return true-按 Range 返回，false-返回完整内容
+     */
+    private boolean rangeApplies(ServletWebRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (!StringUtils.hasText(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            // HTTP 日期精确到秒
+            long date = request.getRequest().getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
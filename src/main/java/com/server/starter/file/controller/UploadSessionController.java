@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.controller;
+
+import com.server.starter.file.dto.UploadSessionDTO;
+import com.server.starter.file.service.UploadSessionService;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.file.vo.UploadSessionVO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.Principal;
+
+/**
+ * 分片上传
+ *
+ * @author wq li
+ */
+@RestController
+@RequestMapping("/files/uploads")
+public class UploadSessionController {
+
+    /**
+     * 分片内容的 CRC32C，十六进制
+     */
+    public static final String CHUNK_CHECKSUM = "X-Chunk-Crc32c";
+
+    private final Logger logger = LoggerFactory.getLogger(UploadSessionController.class);
+
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * <p>Constructor for UploadSessionController.</p>
+     *
+     * @param uploadSessionService a {@link UploadSessionService} object
+     */
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    /**
+     * 创建上传会话
+     *
+     * @param dto 文件名、类型、大小和分片大小
+     * @return 会话，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @PostMapping
+    public ResponseEntity<UploadSessionVO> initiate(@RequestBody @Valid UploadSessionDTO dto) {
+        UploadSessionVO vo;
+        try {
+            vo = uploadSessionService.initiate(dto);
+        } catch (Exception e) {
+            logger.error("Initiate upload session occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(vo);
+    }
+
+    /**
+     * 查询会话，断点续传时据此补传缺失的分片
+     *
+     * @param id        主键
+     * @param principal 当前用户
+     * @return 会话，不存在时返回404状态码，异常时返回204状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSessionVO> fetch(@PathVariable Long id, Principal principal) {
+        UploadSessionVO vo;
+        try {
+            vo = uploadSessionService.fetch(id, principal.getName());
+        } catch (Exception e) {
+            logger.error("Fetch upload session occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        if (vo == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(vo);
+    }
+
+    /**
+     * 上传分片，同一会话的分片可以并行上传
+     *
+     * @param id        主键
+     * @param index     分片序号，从0开始
+     * @param checksum  分片内容的 CRC32C，十六进制
+     * @param request   请求，请求体为分片内容
+     * @param principal 当前用户
+     * @return 如果写入成功，返回200状态码，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @PutMapping(value = "/{id}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> write(@PathVariable Long id, @PathVariable int index,
+                                      @RequestHeader(CHUNK_CHECKSUM) String checksum, HttpServletRequest request,
+                                      Principal principal) {
+        try (ReadableByteChannel source = Channels.newChannel(request.getInputStream())) {
+            uploadSessionService.write(id, index, source, Long.parseUnsignedLong(checksum, 16),
+                    principal.getName());
+        } catch (Exception e) {
+            logger.error("Write chunk occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 完成上传
+     *
+     * @param id        主键
+     * @param principal 当前用户
+     * @return 如果完成，返回文件记录，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<FileRecordVO> complete(@PathVariable Long id, Principal principal) {
+        FileRecordVO vo;
+        try {
+            vo = uploadSessionService.complete(id, principal.getName());
+        } catch (Exception e) {
+            logger.error("Complete upload session occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(vo);
+    }
+
+    /**
+     * 取消上传
+     *
+     * @param id        主键
+     * @param principal 当前用户
+     * @return 如果取消成功，返回200状态码，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_files:write')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@PathVariable Long id, Principal principal) {
+        try {
+            uploadSessionService.abort(id, principal.getName());
+        } catch (Exception e) {
+            logger.error("Abort upload session occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.domain;
+
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * model class for file blob, a stored content shared by the file records with the same hash.
+ *
+ * @author wq li
+ */
+@Table(name = "file_blobs")
+public class FileBlob {
+
+    @Id
+    private String hash;
+
+    private String path;
+
+    private long size;
+
+    private long refCount;
+
+    /**
+     * when the last reference was released, null while referenced.
+     */
+    private Instant releasedDate;
+
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public Instant getReleasedDate() {
+        return releasedDate;
+    }
+
+    public void setReleasedDate(Instant releasedDate) {
+        this.releasedDate = releasedDate;
+    }
+}
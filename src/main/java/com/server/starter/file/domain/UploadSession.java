@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.domain;
+
+
+import com.server.starter.audit.AuditMetadata;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * model class for upload session.
+ *
+ * @author wq li
+ */
+@Table(name = "upload_sessions")
+public class UploadSession extends AuditMetadata {
+
+    private String name;
+
+    private String type;
+
+    private long size;
+
+    private int chunkSize;
+
+    private int chunkCount;
+
+    /**
+     * received chunks, bit n of byte n / 8 counted from the lowest bit, as postgres set_bit numbers them.
+     */
+    private byte[] received;
+
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public byte[] getReceived() {
+        return received;
+    }
+
+    public void setReceived(byte[] received) {
+        this.received = received;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.dto;
+
+
+import com.server.starter.file.bo.UploadSessionBO;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * dto class for upload session.
+ *
+ * @author wq li
+ */
+public class UploadSessionDTO extends UploadSessionBO {
+
+    /**
+     * 分片大小，为空时使用 file.upload.chunk-size
+     */
+    @Positive
+    private Integer chunkSize;
+
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
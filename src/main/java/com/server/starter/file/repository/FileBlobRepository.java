@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.repository;
+
+
+import com.server.starter.file.domain.FileBlob;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * file blob repository.
+ *
+ * @author wq li
+ */
+@Repository
+public interface FileBlobRepository extends CrudRepository<FileBlob, String> {
+
+    /**
+     * 引用内容，不存在时创建，引用数加一
+     *
+     * @param hash 内容摘要
+     * @param path 存储路径
+     * @param size 大小
+     * @return true-成功
+     */
+    @Modifying
+    @Query("INSERT INTO file_blobs (hash, path, size, ref_count) VALUES (:hash, :path, :size, 1) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = file_blobs.ref_count + 1, released_date = NULL")
+    boolean reference(String hash, String path, long size);
+
+    /**
+     * 释放引用，引用数减一，减到0时记录释放时间
+     *
+     * @param hash 内容摘要
+     * @return true-成功，false-内容不存在或已无引用
+     */
+    @Modifying
+    @Query("UPDATE file_blobs SET ref_count = ref_count - 1, " +
+            "released_date = CASE WHEN ref_count = 1 THEN CURRENT_TIMESTAMP END WHERE hash = :hash AND ref_count > 0")
+    boolean release(String hash);
+
+    /**
+     * 查询在指定时间前已无引用的内容
+     *
+     * @param releasedDate 释放时间
+     * @param limit        最大条数
+     * @return 内容
+     */
+    @Query("SELECT * FROM file_blobs WHERE ref_count = 0 AND released_date < :releasedDate " +
+            "ORDER BY released_date LIMIT :limit")
+    List<FileBlob> findAllReleased(Instant releasedDate, int limit);
+
+    /**
+     * 删除无引用的内容，删除前又被引用时不删除
+     *
+     * @param hash 内容摘要
+     * @return true-已删除，false-又被引用或不存在
+     */
+    @Modifying
+    @Query("DELETE FROM file_blobs WHERE hash = :hash AND ref_count = 0")
+    boolean deleteReleased(String hash);
+}
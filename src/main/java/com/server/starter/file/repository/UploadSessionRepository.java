@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.repository;
+
+
+import com.server.starter.file.domain.UploadSession;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * upload session repository.
+ *
+ * @author wq li
+ */
+@Repository
+public interface UploadSessionRepository extends CrudRepository<UploadSession, Long> {
+
+    /**
+     * 标记分片已收到，在数据库中置位，并发上传的分片不会互相覆盖
+     *
+     * @param id    主键
+     * @param index 分片序号
+     * @return true-成功，false-会话不存在
+     */
+    @Modifying
+    @Query("UPDATE upload_sessions SET received = set_bit(received, :index, 1) WHERE id = :id")
+    boolean updateReceivedById(Long id, int index);
+
+    /**
+     * 删除本人的会话，删除成功的一方才能继续完成或取消
+     *
+     * @param id        主键
+     * @param createdBy 创建人
+     * @return true-成功，false-会话不存在或不属于该用户
+     */
+    @Modifying
+    @Query("DELETE FROM upload_sessions WHERE id = :id AND created_by = :createdBy")
+    boolean deleteByIdAndCreatedBy(Long id, String createdBy);
+
+    /**
+     * 查询创建时间早于指定时间的会话
+     *
+     * @param createdDate 时间
+     * @return 会话
+     */
+    List<UploadSession> findAllByCreatedDateBefore(Instant createdDate);
+}
@@ -16,12 +16,17 @@
 
 package com.server.starter.file.service;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.file.dto.FileRecordDTO;
 import com.server.starter.file.vo.FileRecordVO;
 import com.server.starter.service.ServletBasicService;
 import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
 /**
  * file service.
  *
@@ -41,11 +46,55 @@ public interface FileRecordService extends ServletBasicService<FileRecordDTO, Fi
      */
     Page<FileRecordVO> retrieve(int page, int size, String sortBy, boolean descending, String name);
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<FileRecordVO> scroll(String after, int size, String sortBy, boolean descending, String name);
+
     /**
      * 上传
      *
      * @param file 文件
      * @return 结果
+     * @throws IOException 读取或写入文件失败
+     */
+    FileRecordVO upload(MultipartFile file) throws IOException;
+
+    /**
+     * 保存磁盘上已有的文件，文件可能被移动到存储中
+     *
+     * @param name 原始文件名
+     * @param type 内容类型
+     * @param file 文件
+     * @return 结果
+     * @throws IOException 读取或写入文件失败
+     */
+    FileRecordVO upload(String name, String type, Path file) throws IOException;
+
+    /**
+     * 写出文件内容
+     *
+     * @param path     存储路径
+     * @param position 起始位置
+     * @param count    字节数
+     * @param target   输出通道，不会关闭
+     * @throws IOException 读取或写入失败，内容不足 count 字节时为 {@link java.io.EOFException}
+     */
+    void transfer(String path, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * 查询文件内容所在的本地文件
+     *
+     * @param path 存储路径
+     * @return 本地文件，存储不以文件保存内容时为 null
+     * @throws IOException 内容不存在或检查失败
      */
-    FileRecordVO upload(MultipartFile file);
+    Path file(String path) throws IOException;
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.service;
+
+import com.server.starter.file.dto.UploadSessionDTO;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.file.vo.UploadSessionVO;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * upload session service.
+ * <p>
+ * A large file is uploaded in chunks: initiate a session, send the chunks in any order and in parallel,
+ * send again the ones that failed, then complete the session to get the file record.
+ *
+ * @author wq li
+ */
+public interface UploadSessionService {
+
+    /**
+     * 创建上传会话，并按文件大小预分配分片文件
+     *
+     * @param dto 文件名、类型、大小和分片大小
+     * @return 会话
+     * @throws IOException 分片文件创建失败
+     */
+    UploadSessionVO initiate(UploadSessionDTO dto) throws IOException;
+
+    /**
+     * 查询会话，包括尚未收到的分片
+     *
+     * @param id       主键
+     * @param username 当前用户
+     * @return 会话，不存在或不属于该用户时为 null
+     */
+    UploadSessionVO fetch(Long id, String username);
+
+    /**
+     * 写入一个分片，重复写入同一分片会覆盖之前的内容
+     *
+     * @param id       主键
+     * @param index    分片序号，从0开始
+     * @param source   分片内容，不会关闭
+     * @param checksum 分片内容的 CRC32C
+     * @param username 当前用户，只能写入本人的会话
+     * @throws IOException 读取或写入失败
+     */
+    void write(Long id, int index, ReadableByteChannel source, long checksum, String username) throws IOException;
+
+    /**
+     * 完成上传，所有分片都收到后保存为文件记录，同一会话并发完成时只有一个成功
+     *
+     * @param id       主键
+     * @param username 当前用户，只能完成本人的会话
+     * @return 文件记录
+     * @throws IOException 读取或写入失败
+     */
+    FileRecordVO complete(Long id, String username) throws IOException;
+
+    /**
+     * 取消上传，删除会话和分片文件
+     *
+     * @param id       主键
+     * @param username 当前用户，只能取消本人的会话
+     * @throws IOException 分片文件删除失败
+     */
+    void abort(Long id, String username) throws IOException;
+}
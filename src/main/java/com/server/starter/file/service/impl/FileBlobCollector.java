@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.service.impl;
+
+import com.server.starter.file.domain.FileBlob;
+import com.server.starter.file.repository.FileBlobRepository;
+import com.server.starter.file.storage.FileStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes the stored contents no file record references anymore.
+ * <p>
+ * A content is only collected once it has been unreferenced for the delay, so a file removed and uploaded
+ * again shortly after keeps its content. The row and the file are deleted in one transaction, a concurrent
+ * upload of the same content either references it first and keeps it, or waits for the row to be gone and
+ * writes the content again.
+ */
+@Component
+public class FileBlobCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBlobCollector.class);
+
+    private final FileBlobRepository fileBlobRepository;
+    private final FileStorage fileStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration delay;
+    private final int batchSize;
+
+    /**
+     * Constructor for FileBlobCollector.
+     *
+     * @param fileBlobRepository  a {@link FileBlobRepository} object
+     * @param fileStorage         a {@link FileStorage} object
+     * @param transactionTemplate a {@link TransactionTemplate} object
+     * @param delay               how long a content stays unreferenced before it is deleted
+     * @param batchSize           the maximum number of contents read at once
+     */
+    public FileBlobCollector(FileBlobRepository fileBlobRepository, FileStorage fileStorage,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${file.blob.collect-delay:10m}") Duration delay,
+                             @Value("${file.blob.batch-size:500}") int batchSize) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.fileStorage = fileStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.delay = delay;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Deletes the contents unreferenced for longer than the delay.
+     *
+     * @return the number of contents deleted
+     */
+    @Scheduled(cron = "${file.blob.cron:0 */10 * * * *}")
+    public int collect() {
+        Instant releasedBefore = Instant.now().minus(delay);
+        int total = 0;
+        List<FileBlob> blobs;
+        int collected;
+        do {
+            blobs = fileBlobRepository.findAllReleased(releasedBefore, batchSize);
+            collected = 0;
+            for (FileBlob blob : blobs) {
+                if (this.collect(blob)) {
+                    collected++;
+                }
+            }
+            total += collected;
+            // stop on a batch that failed entirely, it would be read again
+        } while (blobs.size() == batchSize && collected > 0);
+        if (total > 0) {
+            logger.info("Collected {} unreferenced file contents.", total);
+        }
+        return total;
+    }
+
+    private boolean collect(FileBlob blob) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!fileBlobRepository.deleteReleased(blob.getHash())) {
+                    return false;
+                }
+                // before the commit, an upload waiting on the row then finds the content gone and writes it again
+                try {
+                    fileStorage.delete(blob.getPath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            logger.warn("Collect file content {} failed.", blob.getHash(), e);
+            return false;
+        }
+    }
+
+}
@@ -17,15 +17,37 @@
 package com.server.starter.file.service.impl;
 
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.file.domain.FileRecord;
+import com.server.starter.file.repository.FileBlobRepository;
 import com.server.starter.file.repository.FileRecordRepository;
 import com.server.starter.file.service.FileRecordService;
+import com.server.starter.file.storage.FileStorage;
+import com.server.starter.file.storage.StoredContent;
 import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.service.KeysetTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
 /**
  * file service impl.
  *
@@ -34,10 +56,19 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 public class FileRecordServiceImpl implements FileRecordService {
 
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
     private final FileRecordRepository fileRecordRepository;
+    private final KeysetTemplate keysetTemplate;
+    private final FileBlobRepository fileBlobRepository;
+    private final FileStorage fileStorage;
 
-    public FileRecordServiceImpl(FileRecordRepository fileRecordRepository) {
+    public FileRecordServiceImpl(FileRecordRepository fileRecordRepository, KeysetTemplate keysetTemplate,
+                                 FileBlobRepository fileBlobRepository, FileStorage fileStorage) {
         this.fileRecordRepository = fileRecordRepository;
+        this.keysetTemplate = keysetTemplate;
+        this.fileBlobRepository = fileBlobRepository;
+        this.fileStorage = fileStorage;
     }
 
     @Override
@@ -47,9 +78,167 @@ public class FileRecordServiceImpl implements FileRecordService {
         return fileRecordRepository.findAll(pageable).map(this::convert);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<FileRecordVO> scroll(String after, int size, String sortBy, boolean descending, String name) {
+        return keysetTemplate.scroll(FileRecord.class, Criteria.empty(), after, size, sortBy, descending)
+                .map(this::convert);
+    }
+
+    @Override
+    public FileRecordVO fetch(Long id) {
+        return fileRecordRepository.findById(id).map(this::convert).orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The part is hashed first and streamed into the storage only when its content is not stored yet, a
+     * duplicate costs one read and no write. It is never held whole in memory.
+     */
+    @Override
+    public FileRecordVO upload(MultipartFile file) throws IOException {
+        Assert.isTrue(!file.isEmpty(), "file must not be empty.");
+
+        StoredContent content;
+        try (ReadableByteChannel channel = Channels.newChannel(file.getInputStream())) {
+            content = StoredContent.digest(channel);
+        }
+        return this.save(file.getOriginalFilename(), file.getContentType(), content, () -> {
+            try (ReadableByteChannel channel = Channels.newChannel(file.getInputStream())) {
+                return fileStorage.store(channel);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileRecordVO upload(String name, String type, Path file) throws IOException {
+        StoredContent content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = StoredContent.digest(channel);
+        }
+        return this.save(name, type, content, () -> fileStorage.store(file));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A file in the local storage is handed to {@link FileChannel#transferTo}, which stays in the kernel only
+     * when the target is a file or socket channel. A channel over a stream, like the servlet output, is copied
+     * through a buffer, as are other storages. See {@link #file(String)} for serving without the copy.
+     */
+    @Override
+    public void transfer(String path, long position, long count, WritableByteChannel target) throws IOException {
+        try (SeekableByteChannel channel = fileStorage.open(path)) {
+            if (channel instanceof FileChannel fileChannel) {
+                while (count > 0) {
+                    long transferred = fileChannel.transferTo(position, count, target);
+                    if (transferred <= 0) {
+                        throw new EOFException(path);
+                    }
+                    position += transferred;
+                    count -= transferred;
+                }
+                return;
+            }
+            channel.position(position);
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_BUFFER_SIZE));
+            while (count > 0) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), count));
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new EOFException(path);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                count -= read;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public FileRecordVO upload(MultipartFile file) {
-        return null;
+    public Path file(String path) throws IOException {
+        return fileStorage.file(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the reference to the content is released, {@link FileBlobCollector} deletes it later once no record
+     * uses it.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public void remove(Long id) {
+        Assert.notNull(id, "id must not be null.");
+
+        fileRecordRepository.findById(id).ifPresent(fileRecord -> {
+            fileRecordRepository.delete(fileRecord);
+            if (StringUtils.hasText(fileRecord.getHash())) {
+                fileBlobRepository.release(fileRecord.getHash());
+            }
+        });
+    }
+
+    /**
+     * 引用内容并保存文件记录，内容未存储时写入
+     * <p>
+     * 先引用再检查内容是否存在：回收器只删除无引用的内容，并在同一事务中删除文件，
+     * 引用之后仍存在的内容不会再被回收，引用前刚被回收的内容会重新写入。
+     *
+     * @param name    原始文件名
+     * @param type    内容类型，为空时为 application/octet-stream
+     * @param content 内容摘要和大小
+     * @param writer  写入内容
+     * @return 文件记录
+     * @throws IOException 写入失败
+     */
+    private FileRecordVO save(String name, String type, StoredContent content, ContentWriter writer)
+            throws IOException {
+        fileBlobRepository.reference(content.hash(), content.path(), content.size());
+        try {
+            if (!fileStorage.exists(content.path())) {
+                StoredContent stored = writer.write();
+                Assert.state(stored.equals(content), "content changed while it was stored.");
+            }
+
+            FileRecord fileRecord = new FileRecord();
+            fileRecord.setName(name(name, content.hash()));
+            fileRecord.setType(StringUtils.hasText(type) ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            fileRecord.setPath(content.path());
+            fileRecord.setSize(content.size());
+            fileRecord.setHash(content.hash());
+            fileRecordRepository.save(fileRecord);
+            return this.convert(fileRecord);
+        } catch (IOException | RuntimeException e) {
+            fileBlobRepository.release(content.hash());
+            throw e;
+        }
+    }
+
+    /**
+     * 文件名，去掉客户端带上的路径并截断到列宽
+     *
+     * @param originalFilename 原始文件名
+     * @param hash             内容摘要，没有文件名时使用
+     * @return 文件名
+     */
+    private String name(String originalFilename, String hash) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(Objects.requireNonNullElse(originalFilename, "")));
+        if (!StringUtils.hasText(name)) {
+            return hash.substring(0, 16);
+        }
+        return name.length() > 64 ? name.substring(name.length() - 64) : name;
     }
 
 
@@ -60,6 +249,17 @@ public class FileRecordServiceImpl implements FileRecordService {
      * @return FileVO 输出对象
      */
     private FileRecordVO convert(FileRecord fileRecord) {
-        return convert(fileRecord, FileRecordVO.class);
+        FileRecordVO vo = convert(fileRecord, FileRecordVO.class);
+        vo.setLastModifiedDate(fileRecord.getLastModifiedDate().orElse(null));
+        return vo;
+    }
+
+    /**
+     * 写入内容
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+
+        StoredContent write() throws IOException;
     }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.service.impl;
+
+
+import com.server.starter.file.domain.UploadSession;
+import com.server.starter.file.dto.UploadSessionDTO;
+import com.server.starter.file.repository.UploadSessionRepository;
+import com.server.starter.file.service.FileRecordService;
+import com.server.starter.file.service.UploadSessionService;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.file.vo.UploadSessionVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * upload session service impl.
+ * <p>
+ * Every session owns a part file preallocated to the final size, each chunk is written at its own offset so
+ * chunks can arrive in any order and from several connections at once. The received chunks are tracked in a
+ * bitmap on the session row, set bit by bit in the database so that parallel chunks never lose each other.
+ * A session is only visible to the user who created it.
+ *
+ * @author wq li
+ */
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_COUNT = 100_000;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileRecordService fileRecordService;
+    private final Path root;
+    private final int chunkSize;
+    private final Duration expireAfter;
+
+    public UploadSessionServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    FileRecordService fileRecordService,
+                                    @Value("${file.upload.root:data/uploads}") String root,
+                                    @Value("${file.upload.chunk-size:8MB}") DataSize chunkSize,
+                                    @Value("${file.upload.expire-after:24h}") Duration expireAfter) throws IOException {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.fileRecordService = fileRecordService;
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.expireAfter = expireAfter;
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public UploadSessionVO initiate(UploadSessionDTO dto) throws IOException {
+        Assert.isTrue(dto.getSize() > 0, "size must be positive.");
+        int size = dto.getChunkSize() != null ? dto.getChunkSize() : chunkSize;
+        Assert.isTrue(size > 0, "chunkSize must be positive.");
+        long count = (dto.getSize() + size - 1) / size;
+        Assert.isTrue(count <= MAX_CHUNK_COUNT, "chunkSize is too small for the file size.");
+
+        UploadSession session = new UploadSession();
+        session.setName(dto.getName());
+        session.setType(dto.getType());
+        session.setSize(dto.getSize());
+        session.setChunkSize(size);
+        session.setChunkCount((int) count);
+        session.setReceived(new byte[(int) (count + 7) / 8]);
+        uploadSessionRepository.save(session);
+
+        try (RandomAccessFile file = new RandomAccessFile(part(session.getId()).toFile(), "rw")) {
+            file.setLength(session.getSize());
+        } catch (IOException e) {
+            uploadSessionRepository.deleteById(session.getId());
+            throw e;
+        }
+        return this.convert(session);
+    }
+
+    @Override
+    public UploadSessionVO fetch(Long id, String username) {
+        return uploadSessionRepository.findById(id).filter(session -> owned(session, username))
+                .map(this::convert).orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The chunk is flushed to disk before it is marked as received, a chunk counted once is never lost.
+     */
+    @Override
+    public void write(Long id, int index, ReadableByteChannel source, long checksum, String username)
+            throws IOException {
+        UploadSession session = this.session(id, username);
+        Assert.isTrue(index >= 0 && index < session.getChunkCount(), "index is out of range.");
+
+        long position = (long) index * session.getChunkSize();
+        long length = Math.min(session.getChunkSize(), session.getSize() - position);
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, length));
+        long written = 0;
+        try (FileChannel part = FileChannel.open(part(id), StandardOpenOption.WRITE)) {
+            while (written < length) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), length - written));
+                if (source.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip().mark();
+                crc.update(buffer);
+                buffer.reset();
+                while (buffer.hasRemaining()) {
+                    written += part.write(buffer, position + written);
+                }
+            }
+            Assert.isTrue(written == length && source.read(buffer.clear().limit(1)) < 0,
+                    "chunk " + index + " must be " + length + " bytes.");
+            Assert.isTrue(crc.getValue() == checksum, "chunk " + index + " checksum does not match.");
+            part.force(false);
+        }
+        Assert.isTrue(uploadSessionRepository.updateReceivedById(id, index), "upload session is gone.");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The part file is handed to the storage as a whole, which moves it into place rather than copying it.
+     * The session row is deleted before the upload, the delete locks the row so a concurrent completion waits
+     * and then finds nothing to delete; a failed upload rolls the delete back and the session can be completed
+     * again.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public FileRecordVO complete(Long id, String username) throws IOException {
+        UploadSession session = this.session(id, username);
+        BitSet received = BitSet.valueOf(session.getReceived());
+        Assert.isTrue(received.cardinality() == session.getChunkCount(),
+                (session.getChunkCount() - received.cardinality()) + " chunks are missing.");
+        Assert.isTrue(uploadSessionRepository.deleteByIdAndCreatedBy(id, username), "upload session is gone.");
+
+        FileRecordVO vo = fileRecordService.upload(session.getName(), session.getType(), part(id));
+        Files.deleteIfExists(part(id));
+        return vo;
+    }
+
+    @Override
+    public void abort(Long id, String username) throws IOException {
+        if (uploadSessionRepository.deleteByIdAndCreatedBy(id, username)) {
+            Files.deleteIfExists(part(id));
+        }
+    }
+
+    /**
+     * 清理过期的会话
+     */
+    @Scheduled(cron = "${file.upload.cleanup-cron:0 30 * * * *}")
+    public void cleanup() {
+        for (UploadSession session : uploadSessionRepository.findAllByCreatedDateBefore(
+                Instant.now().minus(expireAfter))) {
+            try {
+                uploadSessionRepository.deleteById(session.getId());
+                Files.deleteIfExists(part(session.getId()));
+            } catch (IOException e) {
+                logger.warn("Abort upload session {} failed.", session.getId(), e);
+            }
+        }
+    }
+
+    private UploadSession session(Long id, String username) {
+        return uploadSessionRepository.findById(id).filter(session -> owned(session, username)).orElseThrow();
+    }
+
+    private boolean owned(UploadSession session, String username) {
+        return session.getCreatedBy().filter(createdBy -> createdBy.equals(username)).isPresent();
+    }
+
+    private Path part(Long id) {
+        return root.resolve(id + ".part");
+    }
+
+    private UploadSessionVO convert(UploadSession session) {
+        UploadSessionVO vo = new UploadSessionVO();
+        vo.setId(session.getId());
+        vo.setName(session.getName());
+        vo.setType(session.getType());
+        vo.setSize(session.getSize());
+        vo.setChunkSize(session.getChunkSize());
+        vo.setChunkCount(session.getChunkCount());
+        BitSet received = BitSet.valueOf(session.getReceived());
+        List<Integer> missing = new ArrayList<>(session.getChunkCount() - received.cardinality());
+        for (int i = received.nextClearBit(0); i < session.getChunkCount(); i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        vo.setMissing(missing);
+        return vo;
+    }
+}
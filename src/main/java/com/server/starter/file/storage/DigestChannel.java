@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A channel that computes the SHA-256 and the size of the bytes read through it.
+ */
+class DigestChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel delegate;
+    private final MessageDigest digest;
+    private long size;
+
+    DigestChannel(ReadableByteChannel delegate) {
+        this.delegate = delegate;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int read = delegate.read(dst);
+        if (read > 0) {
+            ByteBuffer bytes = dst.duplicate();
+            bytes.position(start).limit(start + read);
+            digest.update(bytes);
+            size += read;
+        }
+        return read;
+    }
+
+    /**
+     * Returns the SHA-256 of the bytes read so far, can only be called once.
+     *
+     * @return the hash, lowercase hex
+     */
+    String hash() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    /**
+     * Leaves the delegate open, it belongs to the caller.
+     */
+    @Override
+    public void close() {
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Storage of file contents, addressed by the SHA-256 of their bytes.
+ * <p>
+ * Contents are written once and never changed, storing the same bytes twice yields the same path.
+ * The implementation is picked with {@code file.storage.type}: {@code local} for {@link LocalFileStorage},
+ * {@code memory} for {@link InMemoryFileStorage}.
+ */
+public interface FileStorage {
+
+    /**
+     * Stores the content read from a channel until its end, without holding it in memory.
+     *
+     * @param source the content, not closed
+     * @return the path, hash and size of the stored content
+     * @throws IOException if the content could not be read or written
+     */
+    StoredContent store(ReadableByteChannel source) throws IOException;
+
+    /**
+     * Stores the content of a file, which the storage may move into place instead of copying it.
+     *
+     * @param file the file, it may no longer exist afterward
+     * @return the path, hash and size of the stored content
+     * @throws IOException if the file could not be read or the content written
+     */
+    default StoredContent store(Path file) throws IOException {
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            return store(source);
+        }
+    }
+
+    /**
+     * Opens a stored content for reading.
+     *
+     * @param path the path returned by {@link #store(ReadableByteChannel)}
+     * @return a channel positioned at the start of the content
+     * @throws java.nio.file.NoSuchFileException if there is no content at the path
+     * @throws IOException                       if the content could not be opened
+     */
+    SeekableByteChannel open(String path) throws IOException;
+
+    /**
+     * Returns the file holding a stored content, so a server can send it by name without reading it.
+     *
+     * @param path the path returned by {@link #store(ReadableByteChannel)}
+     * @return the file, or null if the storage does not keep contents in files
+     * @throws java.nio.file.NoSuchFileException if there is no content at the path
+     * @throws IOException                       if the file could not be checked
+     */
+    default Path file(String path) throws IOException {
+        return null;
+    }
+
+    /**
+     * Checks whether a content is stored.
+     *
+     * @param path the path
+     * @return true if there is a content at the path
+     */
+    boolean exists(String path);
+
+    /**
+     * Deletes a stored content, nothing happens if there is none.
+     *
+     * @param path the path
+     * @throws IOException if the content could not be deleted
+     */
+    void delete(String path) throws IOException;
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps contents in memory, for tests and local runs without a disk to write to.
+ * <p>
+ * Unlike {@link LocalFileStorage}, every content is held on the heap, do not use it for real uploads.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "memory")
+public class InMemoryFileStorage implements FileStorage {
+
+    private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredContent store(ReadableByteChannel source) throws IOException {
+        DigestChannel channel = new DigestChannel(source);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Channels.newInputStream(channel).transferTo(bytes);
+        StoredContent content = StoredContent.of(channel.hash(), channel.size());
+        contents.putIfAbsent(content.path(), bytes.toByteArray());
+        return content;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SeekableByteChannel open(String path) throws IOException {
+        byte[] bytes = contents.get(path);
+        if (bytes == null) {
+            throw new NoSuchFileException(path);
+        }
+        return new ByteArrayChannel(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(String path) {
+        return contents.containsKey(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(String path) {
+        contents.remove(path);
+    }
+
+    /**
+     * A read-only channel over a byte array.
+     */
+    private static class ByteArrayChannel implements SeekableByteChannel {
+
+        private final byte[] bytes;
+        private int position;
+        private boolean open = true;
+
+        private ByteArrayChannel(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position >= bytes.length) {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), bytes.length - position);
+            dst.put(bytes, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) {
+            // a position past the end reads as end of stream
+            position = (int) Math.min(newPosition, bytes.length);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+}
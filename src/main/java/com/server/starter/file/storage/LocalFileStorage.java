@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores contents as files under a root directory.
+ * <p>
+ * A content is streamed into a temporary file with {@link FileChannel#transferFrom}, hashed on the way,
+ * and then moved atomically to its content-addressed path, so a reader never sees a partial file. The
+ * temporary files live under the root so that the move stays on one file system.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+
+    private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final Path temp;
+
+    /**
+     * Constructor for LocalFileStorage.
+     *
+     * @param root the root directory, created if missing
+     * @throws IOException if the directories could not be created
+     */
+    public LocalFileStorage(@Value("${file.storage.root:data/files}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.temp = this.root.resolve(".tmp");
+        Files.createDirectories(this.temp);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredContent store(ReadableByteChannel source) throws IOException {
+        Path file = Files.createTempFile(temp, "upload-", ".tmp");
+        try {
+            DigestChannel channel = new DigestChannel(source);
+            try (FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                // returns 0 once the source is exhausted
+                while ((transferred = target.transferFrom(channel, position, TRANSFER_SIZE)) > 0) {
+                    position += transferred;
+                }
+                target.force(true);
+            }
+            StoredContent content = StoredContent.of(channel.hash(), channel.size());
+            Path path = resolve(content.path());
+            if (!Files.exists(path)) {
+                Files.createDirectories(path.getParent());
+                try {
+                    Files.move(file, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // stored concurrently, the bytes are the same
+                }
+            }
+            return content;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is hashed in place and then renamed to its content-addressed path, which only copies the bytes
+     * when it is on another file system than the root.
+     */
+    @Override
+    public StoredContent store(Path file) throws IOException {
+        StoredContent content;
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = StoredContent.digest(source);
+        }
+        Path path = resolve(content.path());
+        if (Files.exists(path)) {
+            Files.deleteIfExists(file);
+            return content;
+        }
+        Files.createDirectories(path.getParent());
+        try {
+            Files.move(file, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(file);
+        } catch (AtomicMoveNotSupportedException e) {
+            return FileStorage.super.store(file);
+        }
+        return content;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SeekableByteChannel open(String path) throws IOException {
+        return FileChannel.open(resolve(path), StandardOpenOption.READ);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path file(String path) throws IOException {
+        Path file = resolve(path);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(path);
+        }
+        return file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(String path) {
+        return Files.isRegularFile(resolve(path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(String path) throws IOException {
+        Files.deleteIfExists(resolve(path));
+    }
+
+    private Path resolve(String path) {
+        Path resolved = root.resolve(path).normalize();
+        Assert.isTrue(resolved.startsWith(root) && !resolved.startsWith(temp), "path must be a stored content.");
+        return resolved;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A content written by a {@link FileStorage}.
+ *
+ * @param path the path to read it back with
+ * @param hash the SHA-256 of the bytes, lowercase hex
+ * @param size the number of bytes
+ */
+public record StoredContent(String path, String hash, long size) {
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Creates the content stored under its hash, fanned out over two levels of directories so that no
+     * directory grows too large.
+     *
+     * @param hash the SHA-256 of the bytes, lowercase hex
+     * @param size the number of bytes
+     * @return the content
+     */
+    public static StoredContent of(String hash, long size) {
+        return new StoredContent(hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash, hash, size);
+    }
+
+    /**
+     * Reads a channel until its end and returns the content it would be stored as, without storing it.
+     *
+     * @param source the content, not closed
+     * @return the content
+     * @throws IOException if the content could not be read
+     */
+    public static StoredContent digest(ReadableByteChannel source) throws IOException {
+        DigestChannel channel = new DigestChannel(source);
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+        while (channel.read(buffer.clear()) >= 0) {
+            // read only to hash
+        }
+        return of(channel.hash(), channel.size());
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.file.vo;
+
+import com.server.starter.file.bo.UploadSessionBO;
+
+import java.util.List;
+
+/**
+ * vo class for upload session.
+ *
+ * @author wq li
+ */
+public class UploadSessionVO extends UploadSessionBO {
+
+    private Long id;
+
+    private int chunkSize;
+
+    private int chunkCount;
+
+    /**
+     * 尚未收到的分片序号
+     */
+    private List<Integer> missing;
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public List<Integer> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<Integer> missing) {
+        this.missing = missing;
+    }
+}
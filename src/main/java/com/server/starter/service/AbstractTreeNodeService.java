@@ -19,11 +19,19 @@ package com.server.starter.service;
 import com.server.starter.domain.TreeNode;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.status.StatusLogger;
+import org.springframework.beans.BeanUtils;
 
-import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +50,11 @@ public abstract class AbstractTreeNodeService<T> {
 
     private static final Logger log = StatusLogger.getLogger();
 
+    /**
+     * Cached property accessors per node class.
+     */
+    private static final Map<Class<?>, NodeAccessors> ACCESSORS = new ConcurrentHashMap<>();
+
     /**
      * Creates a domain node from the given object, using the provided property names to expand additional data.
      * This method extracts ID, name, and superior ID from the object and attaches any expanded properties.
@@ -53,18 +66,18 @@ public abstract class AbstractTreeNodeService<T> {
      * @since 0.3.0
      */
     protected TreeNode createNode(T t, Set<String> expand) {
-        Class<?> aClass = t.getClass();
-        Object id = this.getId(t, aClass.getSuperclass());
+        NodeAccessors accessors = ACCESSORS.computeIfAbsent(t.getClass(), NodeAccessors::new);
+        Object id = accessors.get(ID).apply(t);
         if (Objects.isNull(id)) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        Object name = this.getName(t, aClass);
-        Object superiorId = this.getSuperiorId(t, aClass);
+        Object name = accessors.get(NAME).apply(t);
+        Object superiorId = accessors.get(SUPERIOR_ID).apply(t);
 
         return TreeNode.withId((Long) id)
                 .name(Objects.nonNull(name) ? String.valueOf(name) : null)
                 .superiorId(Objects.nonNull(superiorId) ? (Long) superiorId : null)
-                .meta(meta(aClass, t, expand)).build();
+                .meta(meta(accessors, t, expand)).build();
     }
 
     /**
@@ -87,81 +100,80 @@ public abstract class AbstractTreeNodeService<T> {
     }
 
     /**
-     * Retrieves the ID value from the given object using reflection.
+     * Expands additional properties for the TreeNode using the cached accessors of the object's class.
      *
-     * @param obj   the object instance.
-     * @param clazz the class of the object or its superclass.
-     * @return the ID value, or null if an error occurs during reflection.
+     * @param accessors the accessors of the object's class.
+     * @param t         the object representing the node.
+     * @param expand    a set of property names to expand as additional data.
+     * @return a map containing the expanded properties.
+     * @since 0.3.0
      */
-    private Object getId(Object obj, Class<?> clazz) {
-        try {
-            PropertyDescriptor idDescriptor = new PropertyDescriptor(ID, clazz);
-            return idDescriptor.getReadMethod().invoke(obj);
-        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException e) {
-            log.error("Error retrieving ID.", e);
-            return null;
+    private Map<String, Object> meta(NodeAccessors accessors, T t, Set<String> expand) {
+        Map<String, Object> expandedData = Collections.emptyMap();
+        if (expand != null && !expand.isEmpty()) {
+            expandedData = new HashMap<>(expand.size());
+            for (String field : expand) {
+                expandedData.put(field, accessors.get(field).apply(t));
+            }
         }
+        return expandedData;
     }
 
     /**
-     * Retrieves the name value from the given object using reflection.
-     *
-     * @param t     the object instance.
-     * @param clazz the class of the object.
-     * @return the name value, or null if an error occurs during reflection.
+     * Property getters of one node class, resolved once into generated lambdas and reused for every node.
      */
-    private Object getName(T t, Class<?> clazz) {
-        try {
-            PropertyDescriptor nameDescriptor = new PropertyDescriptor(NAME, clazz);
-            return nameDescriptor.getReadMethod().invoke(t);
-        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException e) {
-            log.error("Error retrieving name.", e);
-            return null;
+    private static final class NodeAccessors {
+
+        private static final Function<Object, Object> ABSENT = obj -> null;
+
+        private final Class<?> clazz;
+        private final Map<String, Function<Object, Object>> getters = new ConcurrentHashMap<>();
+
+        private NodeAccessors(Class<?> clazz) {
+            this.clazz = clazz;
         }
-    }
 
-    /**
-     * Retrieves the superior ID value from the given object using reflection.
-     *
-     * @param t     the object instance.
-     * @param clazz the class of the object.
-     * @return the superior ID value, or null if an error occurs during reflection.
-     */
-    private Object getSuperiorId(T t, Class<?> clazz) {
-        try {
-            PropertyDescriptor superiorIdDescriptor = new PropertyDescriptor(SUPERIOR_ID, clazz);
-            return superiorIdDescriptor.getReadMethod().invoke(t);
-        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException e) {
-            log.error("Error retrieving superior ID.", e);
-            return null;
+        /**
+         * Returns the getter of the given property, the getter returns null if the property is not readable.
+         *
+         * @param property the property name.
+         * @return the getter.
+         */
+        private Function<Object, Object> get(String property) {
+            return getters.computeIfAbsent(property, this::resolve);
         }
-    }
 
-    /**
-     * Expands additional properties for the TreeNode by reflecting on the object's class and property names.
-     *
-     * @param clazz  the class of the object.
-     * @param t      the object representing the node.
-     * @param expand a set of property names to expand as additional data.
-     * @return a map containing the expanded properties.
-     * @since 0.3.0
-     */
-    private Map<String, Object> meta(Class<?> clazz, T t, Set<String> expand) {
-        Map<String, Object> expandedData = Collections.emptyMap();
-        if (expand != null && !expand.isEmpty()) {
-            expandedData = new HashMap<>(expand.size());
+        private Function<Object, Object> resolve(String property) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(clazz, property);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                log.error("Error retrieving {}, no readable property in {}.", property, clazz.getName());
+                return ABSENT;
+            }
+            Method method = descriptor.getReadMethod();
             try {
-                for (String field : expand) {
-                    PropertyDescriptor descriptor = new PropertyDescriptor(field, clazz);
-                    Object value = descriptor.getReadMethod().invoke(t);
-                    expandedData.put(field, value);
-                }
-            } catch (IllegalAccessException | InvocationTargetException | IntrospectionException e) {
-                log.error("Error expanding data for TreeNode.", e);
+                return generate(method);
+            } catch (Throwable e) {
+                log.warn("Generate getter for {} failed, fallback to reflection.", property, e);
+                return obj -> {
+                    try {
+                        return method.invoke(obj);
+                    } catch (IllegalAccessException | InvocationTargetException ex) {
+                        log.error("Error retrieving {}.", property, ex);
+                        return null;
+                    }
+                };
             }
         }
-        return expandedData;
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> generate(Method method) throws Throwable {
+            Class<?> declaringClass = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), handle,
+                    MethodType.methodType(handle.type().wrap().returnType(), declaringClass));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        }
     }
 }
-
-
@@ -16,12 +16,13 @@
 
 package com.server.starter.service;
 
-import org.springframework.cglib.beans.BeanCopier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 /**
  * Interface providing basic service operations.
  */
@@ -47,22 +48,49 @@ public interface BasicService {
         return pageable;
     }
 
+    /**
+     * Converts the source into a new instance of the target class.
+     *
+     * @param source      The source object.
+     * @param targetClass The target class.
+     * @return The converted object.
+     */
+    @SuppressWarnings("unchecked")
     default <S, T> T convert(S source, Class<T> targetClass) {
         try {
-            T target = targetClass.getDeclaredConstructor().newInstance();
-            BeanCopier copier = BeanCopier.create(source.getClass(), targetClass, false);
-            copier.copy(source, target, null);
-            return target;
+            return BeanConverterRegistry.get((Class<S>) source.getClass(), targetClass).convert(source);
         } catch (Exception e) {
             throw new RuntimeException("Conversion error", e);
         }
     }
 
+    /**
+     * Copies the source properties into an existing target.
+     *
+     * @param source The source object.
+     * @param target The target object.
+     * @return The target object.
+     */
+    @SuppressWarnings("unchecked")
     default <S, T> T convert(S source, T target) {
         try {
-            BeanCopier copier = BeanCopier.create(source.getClass(), target.getClass(), false);
-            copier.copy(source, target, null);
-            return target;
+            return BeanConverterRegistry.get((Class<S>) source.getClass(), (Class<T>) target.getClass())
+                    .copy(source, target);
+        } catch (Exception e) {
+            throw new RuntimeException("Conversion error", e);
+        }
+    }
+
+    /**
+     * Converts every source into a new instance of the target class.
+     *
+     * @param sources     The source objects.
+     * @param targetClass The target class.
+     * @return The converted objects, in the same order.
+     */
+    default <S, T> List<T> convertAll(List<S> sources, Class<T> targetClass) {
+        try {
+            return BeanConverterRegistry.convertAll(sources, targetClass);
         } catch (Exception e) {
             throw new RuntimeException("Conversion error", e);
         }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.service;
+
+import org.springframework.cglib.beans.BeanCopier;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of bean converters keyed by (source class, target class).
+ * <p>
+ * Each converter holds a generated {@link BeanCopier} and a constructor handle for the target type,
+ * both resolved once and reused for every subsequent conversion of the same pair.
+ */
+public final class BeanConverterRegistry {
+
+    private static final Map<ConverterKey, BeanConverter<?, ?>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private BeanConverterRegistry() {
+    }
+
+    /**
+     * Returns the converter for the given source and target classes, creating it on first use.
+     *
+     * @param sourceClass the source class.
+     * @param targetClass the target class.
+     * @param <S>         the source type.
+     * @param <T>         the target type.
+     * @return the cached converter.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanConverter<S, T> get(Class<S> sourceClass, Class<T> targetClass) {
+        return (BeanConverter<S, T>) CONVERTERS.computeIfAbsent(new ConverterKey(sourceClass, targetClass),
+                key -> new BeanConverter<>(key.sourceClass(), key.targetClass()));
+    }
+
+    /**
+     * Converts every element of the list into a new instance of the target class.
+     *
+     * @param sources     the source objects.
+     * @param targetClass the target class.
+     * @param <S>         the source type.
+     * @param <T>         the target type.
+     * @return the converted objects, in the same order.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> List<T> convertAll(List<S> sources, Class<T> targetClass) {
+        if (sources == null || sources.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> targets = new ArrayList<>(sources.size());
+        BeanConverter<S, T> converter = null;
+        for (S source : sources) {
+            // elements are almost always the same class, only look up again when it changes
+            if (converter == null || converter.sourceClass != source.getClass()) {
+                converter = get((Class<S>) source.getClass(), targetClass);
+            }
+            targets.add(converter.convert(source));
+        }
+        return targets;
+    }
+
+    /**
+     * Cache key of a converter.
+     *
+     * @param sourceClass the source class.
+     * @param targetClass the target class.
+     */
+    private record ConverterKey(Class<?> sourceClass, Class<?> targetClass) {
+    }
+
+    /**
+     * Copies properties from a source type to a target type.
+     *
+     * @param <S> the source type.
+     * @param <T> the target type.
+     */
+    public static final class BeanConverter<S, T> {
+
+        private final Class<S> sourceClass;
+        private final BeanCopier copier;
+        private final Supplier<T> constructor;
+
+        private BeanConverter(Class<S> sourceClass, Class<T> targetClass) {
+            this.sourceClass = sourceClass;
+            this.copier = BeanCopier.create(sourceClass, targetClass, false);
+            this.constructor = constructor(targetClass);
+        }
+
+        /**
+         * Creates a new target instance and copies the source properties into it.
+         *
+         * @param source the source object.
+         * @return the target object.
+         */
+        public T convert(S source) {
+            return copy(source, constructor.get());
+        }
+
+        /**
+         * Copies the source properties into an existing target.
+         *
+         * @param source the source object.
+         * @param target the target object.
+         * @return the target object.
+         */
+        public T copy(S source, T target) {
+            copier.copy(source, target, null);
+            return target;
+        }
+
+        /**
+         * Resolves the no-arg constructor of the target class into a {@link Supplier}.
+         * Uses a generated lambda when possible and falls back to reflection otherwise.
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> Supplier<T> constructor(Class<T> targetClass) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+                MethodHandle handle = lookup.findConstructor(targetClass, MethodType.methodType(void.class));
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class), handle, MethodType.methodType(targetClass));
+                return (Supplier<T>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                return reflectiveConstructor(targetClass);
+            }
+        }
+
+        private static <T> Supplier<T> reflectiveConstructor(Class<T> targetClass) {
+            Constructor<T> constructor;
+            try {
+                constructor = targetClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                // still usable for copying into an existing target
+                return () -> {
+                    throw new IllegalStateException("No default constructor for " + targetClass.getName(), e);
+                };
+            }
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Instantiate " + targetClass.getName() + " failed", e);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.poi.excel.StyleSet;
+import cn.hutool.poi.excel.cell.CellUtil;
+import com.server.starter.domain.KeysetSlice;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Streams an aggregate into an xlsx workbook.
+ * <p>
+ * Rows are read with {@link KeysetTemplate} in pages ordered by id and written through an
+ * {@link SXSSFWorkbook}, which keeps only the last rows of the window in memory and flushes the rest to a
+ * compressed temporary file, so the heap used does not grow with the number of rows. The layout is the one
+ * of hutool's {@code ExcelWriter#write(Iterable, boolean)}: a header row with the property names of the
+ * converted rows, followed by one row per record. A sheet that is full continues on a new one.
+ */
+@Component
+public class ExcelExportTemplate {
+
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private final KeysetTemplate keysetTemplate;
+    private final int pageSize;
+    private final int windowSize;
+
+    /**
+     * Constructor for ExcelExportTemplate.
+     *
+     * @param keysetTemplate a {@link KeysetTemplate} object
+     * @param pageSize       the number of records read at once
+     * @param windowSize     the number of rows kept in memory before they are flushed to disk
+     */
+    public ExcelExportTemplate(KeysetTemplate keysetTemplate,
+                               @Value("${export.page-size:500}") int pageSize,
+                               @Value("${export.window-size:100}") int windowSize) {
+        Assert.isTrue(pageSize > 0, "pageSize must be positive.");
+        Assert.isTrue(windowSize > 0, "windowSize must be positive.");
+        this.keysetTemplate = keysetTemplate;
+        this.pageSize = pageSize;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Writes the records matching the criteria as a workbook.
+     *
+     * @param domainType the aggregate type
+     * @param criteria   the filter, {@link Criteria#empty()} for all records
+     * @param converter  converts a record into the bean written as a row
+     * @param os         the output stream, not closed
+     * @param <T>        the aggregate type
+     * @return the number of records written
+     * @throws IOException if the workbook could not be written
+     */
+    public <T> long export(Class<T> domainType, Criteria criteria, Function<T, ?> converter, OutputStream os)
+            throws IOException {
+        // closing the workbook deletes the temporary files
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize)) {
+            workbook.setCompressTempFiles(true);
+            StyleSet styleSet = new StyleSet(workbook);
+            Sheet sheet = workbook.createSheet();
+            List<String> header = null;
+            int rowIndex = 0;
+            long count = 0;
+            String after = null;
+            do {
+                KeysetSlice<T> slice = keysetTemplate.scroll(domainType, criteria, after, pageSize, null, false);
+                for (T record : slice) {
+                    Map<String, Object> values = BeanUtil.beanToMap(converter.apply(record), new LinkedHashMap<>(),
+                            false, false);
+                    if (header == null) {
+                        header = List.copyOf(values.keySet());
+                        write(sheet.createRow(rowIndex++), header, styleSet, true);
+                    } else if (rowIndex == MAX_ROWS) {
+                        sheet = workbook.createSheet();
+                        rowIndex = 0;
+                        write(sheet.createRow(rowIndex++), header, styleSet, true);
+                    }
+                    write(sheet.createRow(rowIndex++), values.values(), styleSet, false);
+                    count++;
+                }
+                after = slice.getNext();
+            } while (after != null);
+            workbook.write(os);
+            return count;
+        }
+    }
+
+    private static void write(Row row, Collection<?> values, StyleSet styleSet, boolean header) {
+        int column = 0;
+        for (Object value : values) {
+            // a longer text would fail the whole export
+            if (value instanceof String text && text.length() > MAX_TEXT_LENGTH) {
+                value = text.substring(0, MAX_TEXT_LENGTH);
+            }
+            CellUtil.setCellValue(row.createCell(column++), value, styleSet, header);
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
+import com.server.starter.domain.ImportResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the first sheet of an xlsx workbook row by row and hands the valid rows to a writer in batches.
+ * <p>
+ * The workbook is spooled to a temporary file and parsed with POI's SAX event API, so only the shared
+ * strings, the current row and one batch are held in memory, however many rows the sheet has. As with
+ * hutool's {@code ExcelReader#readAll(Class)}, the first row holds the property names and every other
+ * non-blank row is bound to a bean; each bean is then validated. Rows that cannot be bound, are invalid or
+ * rejected by the writer are reported in the {@link ImportResult} and the import goes on.
+ * <p>
+ * Each batch is written in its own transaction. When the writer rejects a batch, it is split in halves and
+ * written again, down to single rows, so one bad row only fails itself and is reported with its own error.
+ */
+@Component
+public class ExcelImportTemplate {
+
+    private final Validator validator;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int maxErrors;
+
+    /**
+     * Constructor for ExcelImportTemplate.
+     *
+     * @param validator             a {@link Validator} object
+     * @param transactionOperations runs each write, a rejected write must leave nothing behind
+     * @param batchSize             the maximum number of rows handed to the writer at once
+     * @param maxErrors             the maximum number of row errors reported, further errors are only counted
+     */
+    public ExcelImportTemplate(Validator validator, TransactionOperations transactionOperations,
+                               @Value("${import.batch-size:500}") int batchSize,
+                               @Value("${import.max-errors:1000}") int maxErrors) {
+        Assert.isTrue(batchSize > 0, "batchSize must be positive.");
+        Assert.isTrue(maxErrors >= 0, "maxErrors must not be negative.");
+        this.validator = validator;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports the rows of a workbook.
+     *
+     * @param is      the workbook, not closed
+     * @param rowType the bean type a row is bound to
+     * @param writer  writes a batch of valid rows, called outside a transaction; a runtime exception rejects
+     *                the batch, which is then written again in smaller parts
+     * @param <D>     the bean type
+     * @return the outcome of the import
+     * @throws IOException if the workbook could not be read
+     */
+    public <D> ImportResult read(InputStream is, Class<D> rowType, Consumer<List<D>> writer) throws IOException {
+        // opening a package from a stream would inflate every part in memory
+        Path file = Files.createTempFile("import-", ".xlsx");
+        try {
+            Files.copy(is, file, StandardCopyOption.REPLACE_EXISTING);
+            OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            try {
+                XSSFReader reader = new XSSFReader(pkg);
+                RowHandler<D> handler = new RowHandler<>(rowType, writer);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (sheets.hasNext()) {
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    xmlReader.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                            new ReadOnlySharedStringsTable(pkg, false), handler, new DataFormatter(), false));
+                    try (InputStream sheet = sheets.next()) {
+                        xmlReader.parse(new InputSource(sheet));
+                    }
+                }
+                handler.flush();
+                return handler.result();
+            } finally {
+                // closing a read-only package would try to save it
+                pkg.revert();
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | SAXException
+                 | ParserConfigurationException e) {
+            throw new IOException("Read workbook failed.", e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private class RowHandler<D> implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Class<D> rowType;
+        private final Consumer<List<D>> writer;
+        private final List<D> batch = new ArrayList<>(batchSize);
+        private final List<Integer> batchRows = new ArrayList<>(batchSize);
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private final Map<Integer, String> cells = new HashMap<>();
+
+        private List<String> header;
+        private long total;
+        private long imported;
+        private long failed;
+
+        private RowHandler(Class<D> rowType, Consumer<List<D>> writer) {
+            this.rowType = rowType;
+            this.writer = writer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (StringUtils.hasText(formattedValue)) {
+                cells.put((int) new CellReference(cellReference).getCol(), formattedValue);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.isEmpty()) {
+                return;
+            }
+            if (header == null) {
+                String[] names = new String[cells.keySet().stream().max(Integer::compare).orElse(-1) + 1];
+                cells.forEach((column, value) -> names[column] = value.trim());
+                header = Arrays.asList(names);
+                return;
+            }
+            total++;
+            int row = rowNum + 1;
+            Map<String, Object> values = new HashMap<>(cells.size());
+            cells.forEach((column, value) -> {
+                if (column < header.size() && header.get(column) != null) {
+                    values.put(header.get(column), value);
+                }
+            });
+
+            D bean;
+            try {
+                bean = BeanUtil.toBean(values, rowType, CopyOptions.create());
+            } catch (RuntimeException e) {
+                error(row, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            Set<ConstraintViolation<D>> violations = validator.validate(bean);
+            if (!violations.isEmpty()) {
+                error(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted().collect(Collectors.joining(", ")));
+                return;
+            }
+            batch.add(bean);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                write(List.copyOf(batch), List.copyOf(batchRows));
+            } finally {
+                batch.clear();
+                batchRows.clear();
+            }
+        }
+
+        private void write(List<D> beans, List<Integer> rows) {
+            try {
+                transactionOperations.executeWithoutResult(status -> writer.accept(beans));
+                imported += beans.size();
+            } catch (RuntimeException e) {
+                if (beans.size() == 1) {
+                    error(rows.get(0), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    return;
+                }
+                // bisect, the rows that are fine are written and the bad ones end up alone
+                int half = beans.size() / 2;
+                write(beans.subList(0, half), rows.subList(0, half));
+                write(beans.subList(half, beans.size()), rows.subList(half, rows.size()));
+            }
+        }
+
+        private void error(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportResult.RowError(row, message));
+            }
+        }
+
+        private ImportResult result() {
+            return new ImportResult(total, imported, failed, errors);
+        }
+    }
+
+}
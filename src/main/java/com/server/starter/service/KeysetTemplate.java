@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.server.starter.domain.KeysetSlice;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination over any aggregate.
+ * <p>
+ * Rows are ordered by the sort property and then by id, a slice continues right after the
+ * (sort value, id) of the last row of the previous one. Unlike offset pagination the cost of a slice
+ * does not grow with its depth, and no total count is run. Null sort values come last in ascending
+ * and first in descending order, as PostgreSQL sorts them.
+ * <p>
+ * The cursor is an opaque url-safe token that also records the sort it was created with, so it
+ * cannot be replayed against a different order.
+ */
+@Component
+public class KeysetTemplate {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String SEPARATOR = "\n";
+
+    private final JdbcAggregateOperations jdbcAggregateOperations;
+    private final RelationalMappingContext mappingContext;
+
+    /**
+     * Constructor for KeysetTemplate.
+     *
+     * @param jdbcAggregateOperations a {@link JdbcAggregateOperations} object
+     * @param mappingContext          a {@link RelationalMappingContext} object
+     */
+    public KeysetTemplate(JdbcAggregateOperations jdbcAggregateOperations, RelationalMappingContext mappingContext) {
+        this.jdbcAggregateOperations = jdbcAggregateOperations;
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * Reads the slice following the cursor.
+     *
+     * @param domainType the aggregate type
+     * @param criteria   the filter, {@link Criteria#empty()} for none
+     * @param after      the cursor returned with the previous slice, or null for the first slice
+     * @param size       the maximum number of rows
+     * @param sortBy     the property to sort by, or null to sort by id
+     * @param descending whether to sort in descending order
+     * @param <T>        the aggregate type
+     * @return the slice
+     */
+    public <T> KeysetSlice<T> scroll(Class<T> domainType, Criteria criteria, String after, int size,
+                                     String sortBy, boolean descending) {
+        Assert.isTrue(size > 0, "size must be positive.");
+        RelationalPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainType);
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        RelationalPersistentProperty sortProperty = StringUtils.hasText(sortBy) ?
+                entity.getPersistentProperty(sortBy) : idProperty;
+        Assert.notNull(sortProperty, "sortBy must be a property of " + domainType.getSimpleName() + ".");
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortProperty.getName());
+        if (!sortProperty.isIdProperty()) {
+            sort = sort.and(Sort.by(direction, idProperty.getName()));
+        }
+
+        Criteria where = criteria;
+        if (StringUtils.hasText(after)) {
+            Criteria seek = this.seek(after, sortProperty, idProperty, descending);
+            where = criteria.isEmpty() ? seek : criteria.and(seek);
+        }
+
+        List<T> rows = new ArrayList<>(size + 1);
+        jdbcAggregateOperations.findAll(Query.query(where).sort(sort).limit(size + 1), domainType)
+                .forEach(rows::add);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = this.cursor(entity, rows.get(size - 1), sortProperty, descending);
+        }
+        return new KeysetSlice<>(rows, PageRequest.of(0, size, sort), next);
+    }
+
+    private String cursor(RelationalPersistentEntity<?> entity, Object row, RelationalPersistentProperty sortProperty,
+                          boolean descending) {
+        Object id = entity.getIdentifierAccessor(row).getRequiredIdentifier();
+        StringBuilder builder = new StringBuilder()
+                .append(sortProperty.getName()).append(SEPARATOR)
+                .append(descending ? "d" : "a").append(SEPARATOR)
+                .append(id);
+        if (!sortProperty.isIdProperty()) {
+            Object value = entity.getPropertyAccessor(row).getProperty(sortProperty);
+            // a missing fourth part stands for null
+            if (value != null) {
+                builder.append(SEPARATOR).append(value);
+            }
+        }
+        return ENCODER.encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Criteria seek(String after, RelationalPersistentProperty sortProperty,
+                          RelationalPersistentProperty idProperty, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(DECODER.decode(after), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("after is not a valid cursor.", e);
+        }
+        Assert.isTrue(parts.length >= 3 && parts[0].equals(sortProperty.getName())
+                && parts[1].equals(descending ? "d" : "a"), "after does not match sortBy and descending.");
+
+        String id = idProperty.getName();
+        Object lastId = value(parts[2], idProperty.getType());
+        if (sortProperty.isIdProperty()) {
+            return descending ? Criteria.where(id).lessThan(lastId) : Criteria.where(id).greaterThan(lastId);
+        }
+
+        String column = sortProperty.getName();
+        if (parts.length < 4) {
+            // the last row had no sort value
+            if (descending) {
+                return Criteria.where(column).isNull().and(id).lessThan(lastId)
+                        .or(Criteria.where(column).isNotNull());
+            }
+            return Criteria.where(column).isNull().and(id).greaterThan(lastId);
+        }
+        Object lastValue = value(parts[3], sortProperty.getType());
+        if (descending) {
+            return Criteria.where(column).lessThan(lastValue)
+                    .or(Criteria.where(column).is(lastValue).and(id).lessThan(lastId));
+        }
+        return Criteria.where(column).greaterThan(lastValue)
+                .or(Criteria.where(column).is(lastValue).and(id).greaterThan(lastId))
+                .or(Criteria.where(column).isNull());
+    }
+
+    private static Object value(String text, Class<?> type) {
+        if (type == Instant.class) {
+            return Instant.parse(text);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(text);
+        }
+        return DefaultConversionService.getSharedInstance().convert(text, type);
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.CountedPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Offset pagination over any aggregate without paying for an exact count on large tables.
+ * <p>
+ * The estimate is the {@code pg_class.reltuples} of the table, summed over its partitions, and is cached
+ * per table. It only describes the whole table, so with a filter an estimated page reports no total.
+ * Tables estimated below the threshold are always counted exactly, the count is cheap there.
+ */
+@Component
+public class PageTemplate {
+
+    private static final String CACHE_NAME = "rowEstimate";
+
+    /**
+     * A partitioned parent keeps no statistics of its own, its rows live in the partitions.
+     */
+    private static final String ESTIMATE_SQL = "SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint " +
+            "FROM pg_class c WHERE c.oid = to_regclass(?) " +
+            "OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = to_regclass(?))";
+
+    private final JdbcAggregateOperations jdbcAggregateOperations;
+    private final RelationalMappingContext mappingContext;
+    private final JdbcTemplate jdbcTemplate;
+    private final long exactThreshold;
+    private final Cache<String, Long> estimates;
+
+    /**
+     * Constructor for PageTemplate.
+     *
+     * @param jdbcAggregateOperations a {@link JdbcAggregateOperations} object
+     * @param mappingContext          a {@link RelationalMappingContext} object
+     * @param jdbcTemplate            a {@link JdbcTemplate} object
+     * @param meterRegistry           a {@link MeterRegistry} object
+     * @param exactThreshold          tables estimated below this number of rows are counted exactly
+     * @param expireAfterWrite        how long an estimate is kept
+     */
+    public PageTemplate(JdbcAggregateOperations jdbcAggregateOperations, RelationalMappingContext mappingContext,
+                        JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                        @Value("${page.exact-count-threshold:100000}") long exactThreshold,
+                        @Value("${cache.row-estimate.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.jdbcAggregateOperations = jdbcAggregateOperations;
+        this.mappingContext = mappingContext;
+        this.jdbcTemplate = jdbcTemplate;
+        this.exactThreshold = exactThreshold;
+        this.estimates = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.estimates, CACHE_NAME);
+    }
+
+    /**
+     * Reads a page.
+     *
+     * @param domainType the aggregate type
+     * @param criteria   the filter, {@link Criteria#empty()} for none
+     * @param pageable   the paging information
+     * @param count      how to obtain the total, null for {@link CountMode#EXACT}
+     * @param <T>        the aggregate type
+     * @return the page
+     */
+    public <T> CountedPage<T> page(Class<T> domainType, Criteria criteria, Pageable pageable, CountMode count) {
+        CountMode mode = Objects.requireNonNullElse(count, CountMode.EXACT);
+        long estimate = 0;
+        if (mode == CountMode.ESTIMATED) {
+            estimate = this.estimate(domainType);
+            if (estimate < exactThreshold) {
+                mode = CountMode.EXACT;
+            } else if (!criteria.isEmpty()) {
+                mode = CountMode.NONE;
+            }
+        }
+
+        if (mode == CountMode.EXACT) {
+            List<T> content = new ArrayList<>(pageable.getPageSize());
+            jdbcAggregateOperations.findAll(Query.query(criteria).with(pageable), domainType).forEach(content::add);
+            long total = jdbcAggregateOperations.count(Query.query(criteria), domainType);
+            return new CountedPage<>(content, pageable, total, mode, pageable.getOffset() + content.size() < total);
+        }
+
+        // one extra row tells whether a next page exists without a count
+        int size = pageable.getPageSize();
+        List<T> content = new ArrayList<>(size + 1);
+        jdbcAggregateOperations.findAll(Query.query(criteria).sort(pageable.getSort())
+                .offset(pageable.getOffset()).limit(size + 1), domainType).forEach(content::add);
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        // the estimate may lag behind the rows actually read
+        long total = Math.max(estimate, pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+        return new CountedPage<>(content, pageable, total, mode, hasNext);
+    }
+
+    /**
+     * Returns the estimated number of rows of the table of the aggregate.
+     *
+     * @param domainType the aggregate type
+     * @return the estimate, 0 if the table was never analyzed
+     */
+    public long estimate(Class<?> domainType) {
+        String table = mappingContext.getRequiredPersistentEntity(domainType).getTableName().getReference();
+        return estimates.get(table, key -> jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, key, key));
+    }
+
+}
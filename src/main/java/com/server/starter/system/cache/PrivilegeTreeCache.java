@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.server.starter.domain.TreeNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Built privilege trees keyed by username.
+ * <p>
+ * Entries are evicted by the services that change role members, role privileges or privileges,
+ * the expiry only bounds how long a missed invalidation can live.
+ */
+@Component
+public class PrivilegeTreeCache {
+
+    private static final String CACHE_NAME = "privilegeTree";
+
+    private final Cache<String, List<TreeNode>> cache;
+
+    /**
+     * Constructor for PrivilegeTreeCache.
+     *
+     * @param meterRegistry    a {@link MeterRegistry} object
+     * @param maximumSize      the maximum number of users kept
+     * @param expireAfterWrite how long a tree is kept after it was built
+     */
+    public PrivilegeTreeCache(MeterRegistry meterRegistry,
+                              @Value("${cache.privilege-tree.maximum-size:10000}") long maximumSize,
+                              @Value("${cache.privilege-tree.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the tree of the user, building it with the loader on a miss.
+     *
+     * @param username the username
+     * @param loader   builds the tree of the user
+     * @return the tree
+     */
+    public List<TreeNode> get(String username, Function<String, List<TreeNode>> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * Evicts the trees of the given users.
+     *
+     * @param usernames the usernames
+     */
+    public void evict(Collection<String> usernames) {
+        if (!CollectionUtils.isEmpty(usernames)) {
+            cache.invalidateAll(usernames);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Loaded user details, with their own and their groups' authorities, keyed by username.
+ * <p>
+ * Entries are evicted by the services that change users, group members or role members,
+ * the expiry only bounds how long a missed invalidation can live. Unknown usernames are not cached.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, UserDetails> cache;
+
+    /**
+     * Constructor for UserDetailsCache.
+     *
+     * @param meterRegistry    a {@link MeterRegistry} object
+     * @param maximumSize      the maximum number of users kept
+     * @param expireAfterWrite how long a user is kept after it was loaded
+     */
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${cache.user-details.maximum-size:10000}") long maximumSize,
+                            @Value("${cache.user-details.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the user, loading it with the loader on a miss.
+     * <p>
+     * Every call gets its own copy, the authentication manager erases the password of the principal
+     * it authenticated and must not reach the cached entry.
+     *
+     * @param username the username
+     * @param loader   loads the user, throws if there is none
+     * @return a copy of the user
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return User.withUserDetails(cache.get(username, loader)).build();
+    }
+
+    /**
+     * Evicts the user.
+     *
+     * @param username the username, may be null
+     */
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    /**
+     * Evicts the given users.
+     *
+     * @param usernames the usernames
+     */
+    public void evict(Collection<String> usernames) {
+        if (!CollectionUtils.isEmpty(usernames)) {
+            cache.invalidateAll(usernames);
+        }
+    }
+
+}
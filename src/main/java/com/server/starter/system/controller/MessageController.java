@@ -16,6 +16,8 @@
 
 package com.server.starter.system.controller;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.system.dto.MessageDTO;
 import com.server.starter.system.service.MessageService;
 import com.server.starter.system.vo.MessageVO;
@@ -56,14 +58,16 @@ public class MessageController {
      * @param size       大小
      * @param sortBy     排序字段
      * @param descending 排序方向
+     * @param count      总数统计方式，EXACT精确统计，ESTIMATED按统计信息估算，NONE不统计，默认EXACT
      * @return 查询的数据，异常时返回204状态码
      */
     @GetMapping
     public ResponseEntity<Page<MessageVO>> retrieve(@RequestParam int page, @RequestParam int size,
-                                                    String sortBy, boolean descending, String name) {
+                                                    String sortBy, boolean descending, String name,
+                                                    CountMode count) {
         Page<MessageVO> voPage;
         try {
-            voPage = messageService.retrieve(page, size, sortBy, descending, name);
+            voPage = messageService.retrieve(page, size, sortBy, descending, name, count);
         } catch (Exception e) {
             logger.info("Retrieve message occurred an error: ", e);
             return ResponseEntity.noContent().build();
@@ -71,6 +75,28 @@ public class MessageController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * 游标查询，不统计总数
+     *
+     * @param after      上一页返回的游标，查询首页时为空
+     * @param size       大小
+     * @param sortBy     排序字段
+     * @param descending 排序方向
+     * @return 查询到数据集及下一页游标，异常时返回204
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<MessageVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                         boolean descending, String name) {
+        KeysetSlice<MessageVO> voSlice;
+        try {
+            voSlice = messageService.scroll(after, size, sortBy, descending, name);
+        } catch (Exception e) {
+            logger.info("Scroll message occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * 根据 id 查询
      *
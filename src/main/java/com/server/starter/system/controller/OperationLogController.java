@@ -16,8 +16,12 @@
 
 package com.server.starter.system.controller;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.system.service.OperationLogService;
 import com.server.starter.system.vo.OperationLogVO;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -25,6 +29,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+
 /**
  * operation log controller.
  *
@@ -54,14 +60,18 @@ public class OperationLogController {
      * @param size       大小
      * @param sortBy     排序字段
      * @param descending 排序方向
+     * @param start      开始时间，ISO-8601格式
+     * @param end        结束时间，ISO-8601格式
+     * @param count      总数统计方式，EXACT精确统计，ESTIMATED按统计信息估算，NONE不统计，默认EXACT
      * @return 查询到数据集，异常时返回204
      */
     @GetMapping
     public ResponseEntity<Page<OperationLogVO>> retrieve(@RequestParam int page, @RequestParam int size,
-                                                         String sortBy, boolean descending, String name) {
+                                                         String sortBy, boolean descending, String name,
+                                                         Instant start, Instant end, CountMode count) {
         Page<OperationLogVO> voPage;
         try {
-            voPage = operationLogService.retrieve(page, size, sortBy, descending, name);
+            voPage = operationLogService.retrieve(page, size, sortBy, descending, name, start, end, count);
         } catch (Exception e) {
             logger.error("Retrieve record occurred an error: ", e);
             return ResponseEntity.noContent().build();
@@ -69,6 +79,31 @@ public class OperationLogController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * 游标查询，不统计总数
+     *
+     * @param after      上一页返回的游标，查询首页时为空
+     * @param size       大小
+     * @param sortBy     排序字段
+     * @param descending 排序方向
+     * @param start      开始时间，ISO-8601格式
+     * @param end        结束时间，ISO-8601格式
+     * @return 查询到数据集及下一页游标，异常时返回204
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<OperationLogVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                              boolean descending, String name, Instant start,
+                                                              Instant end) {
+        KeysetSlice<OperationLogVO> voSlice;
+        try {
+            voSlice = operationLogService.scroll(after, size, sortBy, descending, name, start, end);
+        } catch (Exception e) {
+            logger.error("Scroll record occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * 查询信息
      *
@@ -104,4 +139,25 @@ public class OperationLogController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 导出
+     *
+     * @param start    开始时间，ISO-8601格式
+     * @param end      结束时间，ISO-8601格式
+     * @param response 响应
+     * @return 导出成功返回200状态码，否则返回417状态码
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Void> exportToExcel(Instant start, Instant end, HttpServletResponse response) {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
+        try (ServletOutputStream out = response.getOutputStream()) {
+            operationLogService.export(start, end, out);
+        } catch (Exception e) {
+            logger.error("Export operation logs occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
 }
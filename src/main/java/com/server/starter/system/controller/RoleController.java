@@ -15,9 +15,11 @@
  */
 package com.server.starter.system.controller;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.system.domain.RoleMembers;
 import com.server.starter.system.domain.RolePrivileges;
 import com.server.starter.system.dto.RoleDTO;
+import com.server.starter.system.log.Operation;
 import com.server.starter.system.service.RoleMembersService;
 import com.server.starter.system.service.RolePrivilegesService;
 import com.server.starter.system.service.RoleService;
@@ -85,6 +87,29 @@ public class RoleController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * 游标查询，不统计总数
+     *
+     * @param after      上一页返回的游标，查询首页时为空
+     * @param size       大小
+     * @param sortBy     排序字段
+     * @param descending 排序方向
+     * @return 查询到数据集及下一页游标，异常时返回204
+     */
+    @PreAuthorize("hasAuthority('SCOPE_roles:read')")
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<RoleVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                      boolean descending, String name) {
+        KeysetSlice<RoleVO> voSlice;
+        try {
+            voSlice = roleService.scroll(after, size, sortBy, descending, name);
+        } catch (Exception e) {
+            logger.info("Scroll role occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * 查询信息
      *
@@ -130,6 +155,7 @@ public class RoleController {
      */
     @PreAuthorize("hasAuthority('SCOPE_roles:write')")
     @PostMapping
+    @Operation("Create role")
     public ResponseEntity<RoleVO> create(@RequestBody @Valid RoleDTO dto) {
         RoleVO vo;
         try {
@@ -154,6 +180,7 @@ public class RoleController {
      */
     @PreAuthorize("hasAuthority('SCOPE_roles:write')")
     @PutMapping("/{id}")
+    @Operation("Modify role")
     public ResponseEntity<RoleVO> modify(@PathVariable Long id, @RequestBody @Valid RoleDTO dto) {
         RoleVO vo;
         try {
@@ -177,6 +204,7 @@ public class RoleController {
      */
     @PreAuthorize("hasAuthority('SCOPE_roles:write')")
     @PatchMapping("/{id}")
+    @Operation("Enable role")
     public ResponseEntity<Boolean> toggleStatus(@PathVariable Long id) {
         boolean enabled;
         try {
@@ -195,6 +223,7 @@ public class RoleController {
      * @return 如果删除成功，返回200状态码，否则返回417状态码
      */
     @DeleteMapping("/{id}")
+    @Operation("Remove role")
     public ResponseEntity<Void> remove(@PathVariable Long id) {
         try {
             roleService.remove(id);
@@ -249,6 +278,7 @@ public class RoleController {
      * @return 操作结果
      */
     @PatchMapping("/{id}/privileges")
+    @Operation("Relate role privileges")
     public ResponseEntity<List<RolePrivileges>> relation(@PathVariable Long id, @RequestBody Set<Long> privileges) {
         List<RolePrivileges> voList;
         try {
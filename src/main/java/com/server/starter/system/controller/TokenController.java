@@ -16,6 +16,7 @@
 
 package com.server.starter.system.controller;
 
+import com.server.starter.system.security.TokenRevocationList;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -24,10 +25,12 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +44,9 @@ public class TokenController {
     @Autowired
     JwtEncoder encoder;
 
+    @Autowired
+    TokenRevocationList tokenRevocationList;
+
     @PostMapping("/signin")
     public ResponseEntity<String> token(Authentication authentication, HttpServletResponse response) {
         Instant now = Instant.now();
@@ -51,6 +57,7 @@ public class TokenController {
                 .collect(Collectors.joining(" "));
 
         JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plusSeconds(expiry))
@@ -72,6 +79,10 @@ public class TokenController {
         // 清除 Cookie
         response.setHeader("Set-Cookie", "logged_in=; HttpOnly; Secure; SameSite=Lax; Max-Age=0; Path=/");
 
+        // 吊销当前令牌，到期前不能再使用
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            tokenRevocationList.revoke(jwtAuthentication.getToken());
+        }
         authentication.setAuthenticated(false);
         return ResponseEntity.ok().build();
     }
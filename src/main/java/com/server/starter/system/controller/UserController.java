@@ -15,9 +15,12 @@
  */
 package com.server.starter.system.controller;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.system.dto.UserDTO;
 import com.server.starter.system.service.UserService;
 import com.server.starter.system.vo.UserVO;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +31,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.List;
 
 /**
  * user controller.
@@ -75,6 +79,30 @@ public class UserController {
         return ResponseEntity.ok(voPage);
     }
 
+    /**
+     * 游标查询，不统计总数
+     *
+     * @param after      上一页返回的游标，查询首页时为空
+     * @param size       大小
+     * @param sortBy     排序字段
+     * @param descending 排序方向
+     * @param username   username
+     * @return 查询到数据集及下一页游标，异常时返回204
+     */
+    @PreAuthorize("hasAuthority('SCOPE_users:read')")
+    @GetMapping("/scroll")
+    public ResponseEntity<KeysetSlice<UserVO>> scroll(String after, @RequestParam int size, String sortBy,
+                                                      boolean descending, String username) {
+        KeysetSlice<UserVO> voSlice;
+        try {
+            voSlice = userService.scroll(after, size, sortBy, descending, username);
+        } catch (Exception e) {
+            logger.info("Scroll user occurred an error: ", e);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(voSlice);
+    }
+
     /**
      * 查询信息
      *
@@ -196,4 +224,26 @@ public class UserController {
         return ResponseEntity.accepted().body(enabled);
     }
 
+    /**
+     * 导出
+     *
+     * @param ids      主键，为空时导出全部
+     * @param response 响应
+     * @return 导出成功返回200状态码，否则返回417状态码
+     */
+    @PreAuthorize("hasAuthority('SCOPE_users:export')")
+    @GetMapping("/export")
+    public ResponseEntity<Void> exportToExcel(@RequestParam(required = false) List<Long> ids,
+                                              HttpServletResponse response) {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
+        response.setHeader("Content-Disposition", "attachment;filename=data.xlsx");
+        try (ServletOutputStream out = response.getOutputStream()) {
+            userService.export(ids, out);
+        } catch (Exception e) {
+            logger.error("Export users occurred an error: ", e);
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.log;
+
+import com.server.starter.system.domain.AccessLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Records every request as an {@link AccessLog} and hands it to the {@link AccessLogWriter}.
+ * <p>
+ * The client ip is taken from {@link HttpServletRequest#getRemoteAddr()}, configure
+ * {@code server.forward-headers-strategy} when running behind a proxy.
+ * <p>
+ * The filter runs before the security filter chain, which has cleared the {@link SecurityContextHolder} by
+ * the time the request comes back. The user is read from the context the authentication filters saved on
+ * the request instead.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter accessLogWriter;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    /**
+     * Constructor for AccessLogFilter.
+     *
+     * @param accessLogWriter a {@link AccessLogWriter} object
+     */
+    public AccessLogFilter(AccessLogWriter accessLogWriter) {
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant requestTime = Instant.now();
+        long start = System.nanoTime();
+        int statusCode = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        try {
+            filterChain.doFilter(request, response);
+            statusCode = response.getStatus();
+        } finally {
+            AccessLog accessLog = new AccessLog();
+            accessLog.setUrl(request.getRequestURI());
+            accessLog.setHttpMethod(request.getMethod());
+            accessLog.setParams(request.getQueryString());
+            accessLog.setIp(request.getRemoteAddr());
+            accessLog.setStatusCode(statusCode);
+            accessLog.setResponseTimes((System.nanoTime() - start) / 1_000_000);
+            accessLog.setCreatedBy(username(request));
+            accessLog.setCreatedDate(requestTime);
+            accessLogWriter.offer(accessLog);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // health checks and metric scrapes would drown out real traffic
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    private String username(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            authentication = securityContextRepository.loadDeferredContext(request).get().getAuthentication();
+        }
+        return authentication != null && authentication.isAuthenticated() &&
+                !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+
+}
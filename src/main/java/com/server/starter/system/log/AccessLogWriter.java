@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.log;
+
+import com.server.starter.system.domain.AccessLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes access logs into access_logs with JDBC batch inserts.
+ */
+@Component
+public class AccessLogWriter extends BatchLogWriter<AccessLog> {
+
+    private static final String INSERT_SQL = "INSERT INTO access_logs (url, http_method, params, ip, status_code, " +
+            "response_times, created_by, created_date) VALUES (?, ?, ?, CAST(? AS inet), ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for AccessLogWriter.
+     *
+     * @param jdbcTemplate  a {@link JdbcTemplate} object
+     * @param meterRegistry a {@link MeterRegistry} object
+     * @param capacity      the maximum number of logs waiting to be written
+     * @param batchSize     the maximum number of logs written at once
+     * @param flushInterval how long a log may wait for its batch to fill
+     * @param overflow      what to do when the queue is full
+     */
+    public AccessLogWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                           @Value("${log.access.capacity:8192}") int capacity,
+                           @Value("${log.access.batch-size:500}") int batchSize,
+                           @Value("${log.access.flush-interval:1s}") Duration flushInterval,
+                           @Value("${log.access.overflow:drop}") Overflow overflow) {
+        super("access", meterRegistry, capacity, batchSize, flushInterval, overflow);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(List<AccessLog> logs) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, log) -> {
+            ps.setString(1, truncate(log.getUrl(), 127));
+            ps.setString(2, log.getHttpMethod());
+            ps.setString(3, truncate(log.getParams(), 255));
+            ps.setString(4, Objects.nonNull(log.getIp()) ? log.getIp().toString() : null);
+            if (Objects.nonNull(log.getStatusCode())) {
+                ps.setInt(5, log.getStatusCode());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            if (Objects.nonNull(log.getResponseTimes())) {
+                ps.setLong(6, log.getResponseTimes());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, log.getCreatedBy().orElse(null));
+            ps.setTimestamp(8, Timestamp.from(log.getCreatedDate().orElseGet(Instant::now)));
+        });
+    }
+
+}
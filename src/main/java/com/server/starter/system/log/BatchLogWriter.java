@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.log;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers logs in a bounded queue and writes them in batches from a single background thread,
+ * so request threads never wait on the database.
+ * <p>
+ * A batch is written once it is full or the flush interval has passed since its first log.
+ * When the queue is full, {@link Overflow#DROP} discards the log and {@link Overflow#BLOCK}
+ * makes the caller wait for space.
+ *
+ * @param <T> the log type
+ */
+public abstract class BatchLogWriter<T> implements SmartLifecycle {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Overflow overflow;
+
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    /**
+     * Constructor for BatchLogWriter.
+     *
+     * @param name          the log name, used for the drainer thread and the metric tags
+     * @param meterRegistry a {@link MeterRegistry} object
+     * @param capacity      the maximum number of logs waiting to be written
+     * @param batchSize     the maximum number of logs written at once
+     * @param flushInterval how long a log may wait for its batch to fill
+     * @param overflow      what to do when the queue is full
+     */
+    protected BatchLogWriter(String name, MeterRegistry meterRegistry, int capacity, int batchSize,
+                             Duration flushInterval, Overflow overflow) {
+        Assert.isTrue(capacity > 0, "capacity must be positive.");
+        Assert.isTrue(batchSize > 0, "batchSize must be positive.");
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflow = overflow;
+
+        Gauge.builder("logs.pending", queue, BlockingQueue::size)
+                .description("Logs waiting to be written")
+                .tag("log", name)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("logs.flush")
+                .description("Time spent writing a batch of logs")
+                .tag("log", name)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("logs.dropped")
+                .description("Logs discarded because the queue was full")
+                .tag("log", name)
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("logs.failed")
+                .description("Logs lost because their batch could not be written")
+                .tag("log", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes a batch of logs.
+     *
+     * @param logs the logs, never empty
+     */
+    protected abstract void write(List<T> logs);
+
+    /**
+     * Queues a log for writing.
+     *
+     * @param log the log
+     * @return true if the log was queued, false if it was dropped
+     */
+    public boolean offer(T log) {
+        if (queue.offer(log)) {
+            return true;
+        }
+        if (overflow == Overflow.BLOCK) {
+            try {
+                // re-check running so callers are released once the drainer has stopped
+                while (running) {
+                    if (queue.offer(log, flushIntervalNanos, TimeUnit.NANOSECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Cuts a value down to its column width, a single value that does not fit would fail the whole batch.
+     *
+     * @param value  the value
+     * @param length the column width
+     * @return the value, at most length characters long
+     */
+    protected static String truncate(String value, int length) {
+        return value != null && value.length() > length ? value.substring(0, length) : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, name + "-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Waits for the logs already queued to be written.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Below the web server, which drains in-flight requests and stops at lower phases than
+     * {@link WebServerGracefulShutdownLifecycle#SMART_LIFECYCLE_PHASE}, so the logs of those requests are
+     * still written.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                // woken up by stop(), the loop exits once the partial batch is written
+            }
+            flush(batch);
+        }
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void fill(List<T> batch) throws InterruptedException {
+        T first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            write(batch);
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            logger.error("Write {} {} logs failed.", batch.size(), name, e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+
+    /**
+     * What to do with a log when the queue is full.
+     */
+    public enum Overflow {
+        /**
+         * Discard the log.
+         */
+        DROP,
+        /**
+         * Wait until there is space.
+         */
+        BLOCK
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.system.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of access_logs and operation_logs.
+ * <p>
+ * Partitions for the current month and the next {@code premake} months are created ahead of time,
+ * partitions older than {@code retention} months are dropped or detached. Runs once on startup,
+ * before the log writers start, and then on the configured cron.
+ */
+@Component
+public class LogPartitionManager implements SmartInitializingSingleton {
+
+    private static final List<String> TABLES = List.of("access_logs", "operation_logs");
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+
+    private final Logger logger = LoggerFactory.getLogger(LogPartitionManager.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premake;
+    private final int retention;
+    private final Expiry expiry;
+
+    /**
+     * Constructor for LogPartitionManager.
+     *
+     * @param jdbcTemplate a {@link JdbcTemplate} object
+     * @param premake      how many months ahead partitions are created, at least one so that rows written
+     *                     between midnight and the next run at the start of a month have a partition
+     * @param retention    how many months before the current one are kept
+     * @param expiry       what to do with expired partitions
+     */
+    public LogPartitionManager(JdbcTemplate jdbcTemplate,
+                               @Value("${log.partition.premake:2}") int premake,
+                               @Value("${log.partition.retention:6}") int retention,
+                               @Value("${log.partition.expiry:drop}") Expiry expiry) {
+        Assert.isTrue(premake >= 1, "premake must be at least 1.");
+        Assert.isTrue(retention >= 0, "retention must not be negative.");
+        this.jdbcTemplate = jdbcTemplate;
+        this.premake = premake;
+        this.retention = retention;
+        this.expiry = expiry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            this.maintain();
+        } catch (Exception e) {
+            logger.error("Maintain log partitions occurred an error: ", e);
+        }
+    }
+
+    /**
+     * Creates the upcoming partitions and expires the old ones.
+     */
+    @Scheduled(cron = "${log.partition.cron:0 0 1 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        YearMonth oldest = current.minusMonths(retention);
+        for (String table : TABLES) {
+            for (int i = 0; i <= premake; i++) {
+                this.create(table, current.plusMonths(i));
+            }
+            Pattern pattern = Pattern.compile(Pattern.quote(table) + "_p(\\d{6})");
+            for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table)) {
+                Matcher matcher = pattern.matcher(partition);
+                if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(oldest)) {
+                    this.expire(table, partition);
+                }
+            }
+        }
+    }
+
+    private void create(String table, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + "_p" + month.format(SUFFIX) +
+                " PARTITION OF " + table + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void expire(String table, String partition) {
+        if (expiry == Expiry.DETACH) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        logger.info("Expired log partition {} ({}).", partition, expiry);
+    }
+
+    /**
+     * What to do with a partition once it is out of retention.
+     */
+    public enum Expiry {
+        /**
+         * Drop the partition and its rows.
+         */
+        DROP,
+        /**
+         * Detach the partition, keeping it as a standalone table for archiving.
+         */
+        DETACH
+    }
+
+}
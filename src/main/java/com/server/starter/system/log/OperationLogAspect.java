@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.system.log;
+
+import com.server.starter.system.domain.OperationLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Records calls of {@link Operation} methods as operation logs.
+ * <p>
+ * The log is built on the calling thread from data already at hand and handed to the
+ * {@link OperationLogWriter}, the database write happens later in a batch.
+ */
+@Aspect
+@Component
+public class OperationLogAspect {
+
+    private final OperationLogWriter operationLogWriter;
+    private final UserAgentParser userAgentParser;
+
+    /**
+     * Constructor for OperationLogAspect.
+     *
+     * @param operationLogWriter a {@link OperationLogWriter} object
+     * @param userAgentParser    a {@link UserAgentParser} object
+     */
+    public OperationLogAspect(OperationLogWriter operationLogWriter, UserAgentParser userAgentParser) {
+        this.operationLogWriter = operationLogWriter;
+        this.userAgentParser = userAgentParser;
+    }
+
+    /**
+     * Proceeds with the call and records it.
+     *
+     * @param joinPoint the call
+     * @param operation the annotation of the called method
+     * @return the result of the call
+     * @throws Throwable whatever the call throws
+     */
+    @Around("@annotation(operation)")
+    public Object record(ProceedingJoinPoint joinPoint, Operation operation) throws Throwable {
+        Instant operatedTime = Instant.now();
+        Integer statusCode = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        try {
+            Object result = joinPoint.proceed();
+            statusCode = this.statusCode(result);
+            return result;
+        } finally {
+            OperationLog operationLog = new OperationLog();
+            operationLog.setOperation(operation.value());
+            operationLog.setContent(joinPoint.getSignature().getDeclaringType().getSimpleName() + "#"
+                    + joinPoint.getSignature().getName());
+            operationLog.setStatusCode(statusCode);
+            operationLog.setOperatedTime(operatedTime);
+            operationLog.setCreatedDate(operatedTime);
+
+            HttpServletRequest request = this.currentRequest();
+            if (Objects.nonNull(request)) {
+                String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+                UserAgentParser.UserAgent parsed = userAgentParser.parse(userAgent);
+                operationLog.setUserAgent(userAgent);
+                operationLog.setDeviceType(parsed.deviceType());
+                operationLog.setOs(parsed.os());
+                operationLog.setBrowser(parsed.browser());
+                operationLog.setIp(request.getRemoteAddr());
+                operationLog.setReferer(request.getHeader(HttpHeaders.REFERER));
+                HttpSession session = request.getSession(false);
+                operationLog.setSessionId(Objects.nonNull(session) ? session.getId() : null);
+                operationLog.setCreatedBy(request.getRemoteUser());
+            }
+            operationLogWriter.offer(operationLog);
+        }
+    }
+
+    private Integer statusCode(Object result) {
+        if (result instanceof ResponseEntity<?> responseEntity) {
+            return responseEntity.getStatusCode().value();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletResponse response = servletRequestAttributes.getResponse();
+            if (Objects.nonNull(response)) {
+                return response.getStatus();
+            }
+        }
+        return null;
+    }
+
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            return servletRequestAttributes.getRequest();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.system.log;
+
+import com.server.starter.system.domain.OperationLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes operation logs into operation_logs with JDBC batch inserts.
+ */
+@Component
+public class OperationLogWriter extends BatchLogWriter<OperationLog> {
+
+    private static final String INSERT_SQL = "INSERT INTO operation_logs (operation, os, browser, ip, content, " +
+            "user_agent, status_code, operated_time, referer, session_id, device_type, created_by, created_date) " +
+            "VALUES (?, ?, ?, CAST(? AS inet), ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for OperationLogWriter.
+     *
+     * @param jdbcTemplate  a {@link JdbcTemplate} object
+     * @param meterRegistry a {@link MeterRegistry} object
+     * @param capacity      the maximum number of logs waiting to be written
+     * @param batchSize     the maximum number of logs written at once
+     * @param flushInterval how long a log may wait for its batch to fill
+     * @param overflow      what to do when the queue is full
+     */
+    public OperationLogWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${log.operation.capacity:4096}") int capacity,
+                              @Value("${log.operation.batch-size:200}") int batchSize,
+                              @Value("${log.operation.flush-interval:1s}") Duration flushInterval,
+                              @Value("${log.operation.overflow:block}") Overflow overflow) {
+        super("operation", meterRegistry, capacity, batchSize, flushInterval, overflow);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(List<OperationLog> logs) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, log) -> {
+            ps.setString(1, truncate(log.getOperation(), 64));
+            ps.setString(2, truncate(log.getOs(), 64));
+            ps.setString(3, truncate(log.getBrowser(), 64));
+            ps.setString(4, Objects.nonNull(log.getIp()) ? log.getIp().toString() : null);
+            ps.setString(5, log.getContent());
+            ps.setString(6, truncate(log.getUserAgent(), 255));
+            if (Objects.nonNull(log.getStatusCode())) {
+                ps.setInt(7, log.getStatusCode());
+            } else {
+                ps.setNull(7, Types.INTEGER);
+            }
+            ps.setTimestamp(8, Objects.nonNull(log.getOperatedTime()) ? Timestamp.from(log.getOperatedTime()) : null);
+            ps.setString(9, truncate(log.getReferer(), 255));
+            ps.setString(10, truncate(log.getSessionId(), 64));
+            ps.setString(11, truncate(log.getDeviceType(), 20));
+            ps.setString(12, log.getCreatedBy().orElse(null));
+            ps.setTimestamp(13, Timestamp.from(log.getCreatedDate().orElseGet(Instant::now)));
+        });
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.server.starter.system.log;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves device type, os and browser from a User-Agent header.
+ * <p>
+ * Clients send the same few headers over and over, so results are cached by the raw header.
+ */
+@Component
+public class UserAgentParser {
+
+    private static final UserAgent UNKNOWN = new UserAgent("Unknown", "Unknown", "Unknown");
+
+    private final Cache<String, UserAgent> cache = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    /**
+     * Parses the header.
+     *
+     * @param userAgent the User-Agent header
+     * @return the parsed result, every part is "Unknown" when not recognized
+     */
+    public UserAgent parse(String userAgent) {
+        if (!StringUtils.hasText(userAgent)) {
+            return UNKNOWN;
+        }
+        return cache.get(userAgent, UserAgentParser::resolve);
+    }
+
+    private static UserAgent resolve(String userAgent) {
+        return new UserAgent(deviceType(userAgent), os(userAgent), browser(userAgent));
+    }
+
+    private static String deviceType(String ua) {
+        String lower = ua.toLowerCase();
+        if (lower.contains("bot") || lower.contains("spider") || lower.contains("crawler")) {
+            return "Bot";
+        }
+        if (lower.contains("ipad") || lower.contains("tablet")
+                || (lower.contains("android") && !lower.contains("mobile"))) {
+            return "Tablet";
+        }
+        if (lower.contains("mobile") || lower.contains("iphone")) {
+            return "Mobile";
+        }
+        return "Desktop";
+    }
+
+    private static String os(String ua) {
+        // iOS agents also contain "like Mac OS X", Android agents also contain "Linux"
+        if (ua.contains("iPhone") || ua.contains("iPad")) {
+            return "iOS";
+        }
+        if (ua.contains("Android")) {
+            return "Android";
+        }
+        if (ua.contains("Windows")) {
+            return "Windows";
+        }
+        if (ua.contains("Mac OS X")) {
+            return "macOS";
+        }
+        if (ua.contains("CrOS")) {
+            return "ChromeOS";
+        }
+        if (ua.contains("Linux")) {
+            return "Linux";
+        }
+        return UNKNOWN.os();
+    }
+
+    private static String browser(String ua) {
+        // checked most specific first, Edge and Opera also claim Chrome, Chrome also claims Safari
+        if (ua.contains("Edg/") || ua.contains("Edge/")) {
+            return "Edge";
+        }
+        if (ua.contains("OPR/") || ua.contains("Opera")) {
+            return "Opera";
+        }
+        if (ua.contains("Firefox/") || ua.contains("FxiOS/")) {
+            return "Firefox";
+        }
+        if (ua.contains("Chrome/") || ua.contains("CriOS/")) {
+            return "Chrome";
+        }
+        if (ua.contains("Safari/")) {
+            return "Safari";
+        }
+        if (ua.contains("PostmanRuntime/")) {
+            return "Postman";
+        }
+        if (ua.startsWith("curl/")) {
+            return "curl";
+        }
+        return UNKNOWN.browser();
+    }
+
+    /**
+     * Parsed User-Agent.
+     *
+     * @param deviceType the device type
+     * @param os         the operating system
+     * @param browser    the browser
+     */
+    public record UserAgent(String deviceType, String os, String browser) {
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.mapper;
+
+import com.server.starter.system.domain.SubsetCount;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface PrivilegeMapper {
+
+    @Select("<script>" +
+            "SELECT superior_id, COUNT(id) AS count FROM privileges " +
+            "WHERE superior_id IN " +
+            "<foreach collection='superiorIds' item='superiorId' open='(' separator=',' close=')'>#{superiorId}</foreach> " +
+            "GROUP BY superior_id" +
+            "</script>")
+    List<SubsetCount> countBySuperiorIdIn(@Param("superiorIds") Collection<Long> superiorIds);
+}
@@ -16,6 +16,7 @@
 package com.server.starter.system.repository;
 
 import com.server.starter.system.domain.GroupMembers;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -37,6 +38,15 @@ public interface GroupMembersRepository extends ListCrudRepository<GroupMembers,
      */
     List<GroupMembers> findAllByGroupId(Long groupId);
 
+    /**
+     * 根据group查询用户名
+     *
+     * @param groupId group主键
+     * @return 用户名集合
+     */
+    @Query("SELECT DISTINCT username FROM group_members WHERE group_id = :groupId")
+    List<String> findUsernamesByGroupId(Long groupId);
+
     /**
      * 根据user查group
      *
@@ -17,10 +17,14 @@
 package com.server.starter.system.repository;
 
 import com.server.starter.system.domain.OperationLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+
 /**
  * <p>OperationLogRepository interface.</p>
  *
@@ -29,4 +33,14 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface OperationLogRepository extends CrudRepository<OperationLog, Long>,
         PagingAndSortingRepository<OperationLog, Long> {
+
+    /**
+     * 查询时间段内的数据，只扫描覆盖该时间段的分区
+     *
+     * @param start    开始时间
+     * @param end      结束时间
+     * @param pageable 分页参数
+     * @return 结果集
+     */
+    Page<OperationLog> findAllByCreatedDateBetween(Instant start, Instant end, Pageable pageable);
 }
@@ -53,6 +53,17 @@ public interface PrivilegeRepository extends ListCrudRepository<Privilege, Long>
      */
     List<Privilege> findAllBySuperiorId(Long superiorId);
 
+    /**
+     * Finds all enabled records granted to the user through any of its roles, each record at most once.
+     *
+     * @param username The username.
+     * @return A list of privileges.
+     */
+    @Query("SELECT p.* FROM privileges p WHERE p.enabled = true AND EXISTS (" +
+            "SELECT 1 FROM role_privileges rp JOIN role_members rm ON rm.role_id = rp.role_id " +
+            "WHERE rp.privilege_id = p.id AND rm.username = :username)")
+    List<Privilege> findAllByUsername(String username);
+
     /**
      * Counts the number of records by superior ID.
      *
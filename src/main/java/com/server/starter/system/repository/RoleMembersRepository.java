@@ -16,6 +16,7 @@
 package com.server.starter.system.repository;
 
 import com.server.starter.system.domain.RoleMembers;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -45,4 +46,23 @@ public interface RoleMembersRepository extends ListCrudRepository<RoleMembers, L
      */
     List<RoleMembers> findAllByRoleId(Long roleId);
 
+    /**
+     * 根据role查询用户名
+     *
+     * @param roleId role主键
+     * @return 用户名集合
+     */
+    @Query("SELECT DISTINCT username FROM role_members WHERE role_id = :roleId")
+    List<String> findUsernamesByRoleId(Long roleId);
+
+    /**
+     * 根据privilege查询拥有该权限的用户名
+     *
+     * @param privilegeId privilege主键
+     * @return 用户名集合
+     */
+    @Query("SELECT DISTINCT rm.username FROM role_members rm JOIN role_privileges rp ON rp.role_id = rm.role_id " +
+            "WHERE rp.privilege_id = :privilegeId")
+    List<String> findUsernamesByPrivilegeId(Long privilegeId);
+
 }
@@ -78,4 +78,15 @@ public interface UserRepository extends CrudRepository<User, Long>,
     @Modifying
     @Query("UPDATE users SET enabled = NOT enabled WHERE id = :id")
     boolean updateEnabledById(Long id);
+
+    /**
+     * Updates the password of a record by its username.
+     *
+     * @param username The username of the record.
+     * @param password The encoded password.
+     * @return true if the update was successful, false otherwise.
+     */
+    @Modifying
+    @Query("UPDATE users SET password = :password WHERE username = :username")
+    boolean updatePasswordByUsername(String username, String password);
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import com.server.starter.system.cache.UserDetailsCache;
+import com.server.starter.system.repository.UserRepository;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Serves users from the {@link UserDetailsCache}, loading them with the delegate on a miss.
+ * <p>
+ * Stores the passwords the authentication provider rehashes after a successful sign-in, see
+ * {@link TunablePasswordEncoder#upgradeEncoding(String)}.
+ */
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserDetailsService delegate;
+    private final UserDetailsCache userDetailsCache;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructor for CachedUserDetailsService.
+     *
+     * @param delegate         loads the users missing from the cache
+     * @param userDetailsCache a {@link UserDetailsCache} object
+     * @param userRepository   a {@link UserRepository} object
+     */
+    public CachedUserDetailsService(UserDetailsService delegate, UserDetailsCache userDetailsCache,
+                                    UserRepository userRepository) {
+        this.delegate = delegate;
+        this.userDetailsCache = userDetailsCache;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        return userDetailsCache.get(username, delegate::loadUserByUsername);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        userDetailsCache.evict(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Converts a {@link Jwt} into a {@link JwtAuthenticationToken}, mapping its scopes to authorities only once.
+ * <p>
+ * The authorities are kept against the {@link Jwt} instance, which {@link CachingJwtDecoder} hands out again
+ * for a repeat token, and go away with it. A new authentication is still built for each request, it is
+ * mutable and carries the request details.
+ */
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private final Cache<Jwt, Collection<GrantedAuthority>> cache;
+
+    /**
+     * Constructor for CachingJwtAuthenticationConverter, mapping each scope to a {@code SCOPE_} authority.
+     */
+    public CachingJwtAuthenticationConverter() {
+        this(new JwtGrantedAuthoritiesConverter());
+    }
+
+    /**
+     * Constructor for CachingJwtAuthenticationConverter.
+     *
+     * @param authoritiesConverter maps a token to its authorities
+     */
+    public CachingJwtAuthenticationConverter(Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter) {
+        this.authoritiesConverter = authoritiesConverter;
+        // weak keys compare by identity, an entry lives as long as the decoder keeps its token
+        this.cache = Caffeine.newBuilder().weakKeys().build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        Collection<GrantedAuthority> authorities = cache.get(jwt, key -> {
+            Collection<GrantedAuthority> converted = authoritiesConverter.convert(key);
+            return converted != null ? List.copyOf(converted) : List.of();
+        });
+        return new JwtAuthenticationToken(jwt, authorities, jwt.getSubject());
+    }
+
+}
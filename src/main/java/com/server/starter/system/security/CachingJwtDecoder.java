@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Decodes each token once and serves the same {@link Jwt} until the token expires.
+ * <p>
+ * The delegate parses the token and verifies its signature, both skipped for a token already seen. Entries are
+ * keyed by the SHA-256 of the token, so the cache does not hold bearer tokens, and expire at the token's
+ * {@code exp}. Tokens the delegate rejects are not cached. The {@link TokenRevocationList} is checked on every
+ * call, cached or not.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String CACHE_NAME = "jwt";
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationList revocationList;
+    private final Cache<String, Jwt> cache;
+    private final Counter revokedCounter;
+
+    /**
+     * Constructor for CachingJwtDecoder.
+     *
+     * @param delegate       the decoder verifying the tokens
+     * @param revocationList a {@link TokenRevocationList} object
+     * @param meterRegistry  a {@link MeterRegistry} object
+     * @param maximumSize    the maximum number of tokens kept
+     * @param maximumAge     how long a token is kept at most, even if it expires later
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, TokenRevocationList revocationList, MeterRegistry meterRegistry,
+                             long maximumSize, Duration maximumAge) {
+        this.delegate = delegate;
+        this.revocationList = revocationList;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry(maximumAge))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+        this.revokedCounter = Counter.builder("tokens.rejected.revoked")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = cache.get(hash(token), key -> delegate.decode(token));
+        if (revocationList.isRevoked(jwt)) {
+            revokedCounter.increment();
+            throw new BadJwtException("An error occurred while attempting to decode the Jwt: Token has been revoked");
+        }
+        return jwt;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Keeps a token until its {@code exp}, and no longer than the maximum age.
+     */
+    private static class UntilExpiry implements Expiry<String, Jwt> {
+
+        private final long maximumAge;
+
+        private UntilExpiry(Duration maximumAge) {
+            this.maximumAge = maximumAge.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            if (Objects.isNull(jwt.getExpiresAt())) {
+                return maximumAge;
+            }
+            long remaining = Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(remaining, maximumAge));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
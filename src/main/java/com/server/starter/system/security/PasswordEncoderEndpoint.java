@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads and changes the settings of the {@link TunablePasswordEncoder} without a restart, so the cost
+ * can be fitted to the hardware the instance runs on.
+ * <p>
+ * The settings are per instance and revert to the configuration on restart.
+ */
+@Component
+@Endpoint(id = "passwordencoder")
+public class PasswordEncoderEndpoint {
+
+    private final TunablePasswordEncoder passwordEncoder;
+
+    /**
+     * Constructor for PasswordEncoderEndpoint.
+     *
+     * @param passwordEncoder a {@link TunablePasswordEncoder} object
+     */
+    public PasswordEncoderEndpoint(TunablePasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Returns the current settings.
+     *
+     * @return the settings
+     */
+    @ReadOperation
+    public TunablePasswordEncoder.Settings settings() {
+        return passwordEncoder.getSettings();
+    }
+
+    /**
+     * Changes the settings, both values are required, send the current one to keep it.
+     *
+     * @param encodingId the id of the encoder new hashes are made with
+     * @param strength   the bcrypt log rounds
+     * @return the new settings
+     */
+    @WriteOperation
+    public TunablePasswordEncoder.Settings tune(String encodingId, int strength) {
+        TunablePasswordEncoder.Settings settings = new TunablePasswordEncoder.Settings(encodingId, strength);
+        passwordEncoder.tune(settings);
+        return settings;
+    }
+
+}
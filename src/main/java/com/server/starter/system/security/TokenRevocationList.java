@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Ids of the tokens revoked before they expired.
+ * <p>
+ * An id is kept until its token expires, after that the token is rejected for its expiry anyway.
+ * The list lives in memory, it is not shared between instances.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache<String, Instant> revoked;
+
+    /**
+     * Constructor for TokenRevocationList.
+     *
+     * @param meterRegistry a {@link MeterRegistry} object
+     */
+    public TokenRevocationList(MeterRegistry meterRegistry) {
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new UntilExpiry())
+                .build();
+        Gauge.builder("tokens.revoked", revoked, Cache::estimatedSize)
+                .description("Revoked tokens not expired yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revokes a token, nothing happens if it has no id or has already expired.
+     *
+     * @param jwt the token
+     */
+    public void revoke(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (StringUtils.hasText(jwt.getId()) && Objects.nonNull(expiresAt) && expiresAt.isAfter(Instant.now())) {
+            revoked.put(jwt.getId(), expiresAt);
+        }
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param jwt the token
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(Jwt jwt) {
+        return StringUtils.hasText(jwt.getId()) && revoked.getIfPresent(jwt.getId()) != null;
+    }
+
+    /**
+     * Keeps an id until its token expires.
+     */
+    private static class UntilExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String id, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2024.  little3201.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.server.starter.system.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link DelegatingPasswordEncoder} whose encoding id and bcrypt strength can be changed at runtime.
+ * <p>
+ * Hashes are checked with the encoder named by their prefix, so changing the settings never breaks
+ * a stored password. {@link #upgradeEncoding(String)} reports every hash that was not made with the
+ * current settings, a lowered strength included, and the authentication provider rehashes it on the
+ * next successful sign-in.
+ * <p>
+ * Hashing runs on a bounded pool so a burst of sign-ins takes at most that many cores. When the queue
+ * is full the sign-in fails at once instead of waiting.
+ */
+@Component
+public class TunablePasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    /**
+     * The id of {@link BCryptPasswordEncoder}.
+     */
+    public static final String BCRYPT = "bcrypt";
+
+    /**
+     * The id of {@link Pbkdf2PasswordEncoder}.
+     */
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final Set<String> ENCODING_IDS = Set.of(BCRYPT, PBKDF2);
+
+    private static final Pattern BCRYPT_STRENGTH = Pattern.compile("^\\{bcrypt}\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final ThreadPoolExecutor executor;
+
+    private volatile Settings settings;
+    private volatile PasswordEncoder delegate;
+
+    /**
+     * Constructor for TunablePasswordEncoder.
+     *
+     * @param meterRegistry a {@link MeterRegistry} object
+     * @param encodingId    the id of the encoder new hashes are made with
+     * @param strength      the bcrypt log rounds
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the maximum number of hashes waiting for a thread
+     */
+    public TunablePasswordEncoder(MeterRegistry meterRegistry,
+                                  @Value("${security.password.encoding-id:bcrypt}") String encodingId,
+                                  @Value("${security.password.strength:10}") int strength,
+                                  @Value("${security.password.threads:2}") int threads,
+                                  @Value("${security.password.queue-capacity:32}") int queueCapacity) {
+        Assert.isTrue(threads > 0, "threads must be positive.");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be positive.");
+        tune(new Settings(encodingId, strength));
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(this.executor, "password.hash", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Returns the settings new hashes are made with.
+     *
+     * @return the settings
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Changes the settings new hashes are made with, stored hashes are upgraded as their users sign in.
+     *
+     * @param settings the settings
+     */
+    public synchronized void tune(Settings settings) {
+        Assert.notNull(settings, "settings must not be null.");
+        Assert.isTrue(ENCODING_IDS.contains(settings.encodingId()),
+                () -> "encodingId must be one of " + ENCODING_IDS + ".");
+        Assert.isTrue(settings.strength() >= 4 && settings.strength() <= 31, "strength must be between 4 and 31.");
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(settings.encodingId(), Map.of(
+                BCRYPT, new BCryptPasswordEncoder(settings.strength()),
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                "noop", noop()));
+        this.delegate = encoder;
+        this.settings = settings;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordEncoder encoder = delegate;
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordEncoder encoder = delegate;
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (delegate.upgradeEncoding(encodedPassword)) {
+            return true;
+        }
+        // bcrypt only upgrades weaker hashes, a lowered strength has to be applied here
+        Settings current = settings;
+        if (BCRYPT.equals(current.encodingId()) && encodedPassword != null) {
+            Matcher matcher = BCRYPT_STRENGTH.matcher(encodedPassword);
+            return matcher.find() && Integer.parseInt(matcher.group(1)) != current.strength();
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Too many passwords waiting to be hashed.", e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Interrupted while hashing a password.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Hash password failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Matches the passwords stored before hashing was configured, which are rehashed on sign-in; it is never
+     * the encoding id, so nothing new is stored in plain text. Drop it once no {noop} password is left.
+     */
+    @SuppressWarnings("deprecation")
+    private static PasswordEncoder noop() {
+        return NoOpPasswordEncoder.getInstance();
+    }
+
+    /**
+     * The settings new hashes are made with.
+     *
+     * @param encodingId the id of the encoder, {@link #BCRYPT} or {@link #PBKDF2}
+     * @param strength   the bcrypt log rounds
+     */
+    public record Settings(String encodingId, int strength) {
+    }
+
+}
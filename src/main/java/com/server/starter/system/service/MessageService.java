@@ -16,6 +16,8 @@
 
 package com.server.starter.system.service;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.service.ServletBasicService;
 import com.server.starter.system.dto.MessageDTO;
 import com.server.starter.system.vo.MessageVO;
@@ -36,8 +38,21 @@ public interface MessageService extends ServletBasicService<MessageDTO, MessageV
      * @param sortBy     The field to sort by. If null, records are unsorted.
      * @param descending Whether sorting should be in descending order.
      * @param title      The title filter for the records.
+     * @param count      How to obtain the total, null for an exact count.
      * @return A paginated list of records.
      */
-    Page<MessageVO> retrieve(int page, int size, String sortBy, boolean descending, String title);
+    Page<MessageVO> retrieve(int page, int size, String sortBy, boolean descending, String title, CountMode count);
+
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param title      The title filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<MessageVO> scroll(String after, int size, String sortBy, boolean descending, String title);
 
 }
@@ -16,11 +16,17 @@
 
 package com.server.starter.system.service;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.service.ServletBasicService;
 import com.server.starter.system.dto.OperationLogDTO;
 import com.server.starter.system.vo.OperationLogVO;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
 /**
  * operation log service.
  *
@@ -36,8 +42,37 @@ public interface OperationLogService extends ServletBasicService<OperationLogDTO
      * @param sortBy     The field to sort by. If null, records are unsorted.
      * @param descending Whether sorting should be in descending order.
      * @param operation  The operation filter for the records.
+     * @param start      The start of the time window, or null for no lower bound.
+     * @param end        The end of the time window, or null for no upper bound.
+     * @param count      How to obtain the total, null for an exact count.
      * @return A paginated list of records.
      */
-    Page<OperationLogVO> retrieve(int page, int size, String sortBy, boolean descending, String operation);
+    Page<OperationLogVO> retrieve(int page, int size, String sortBy, boolean descending, String operation,
+                                  Instant start, Instant end, CountMode count);
+
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param operation  The operation filter for the records.
+     * @param start      The start of the time window, or null for no lower bound.
+     * @param end        The end of the time window, or null for no upper bound.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<OperationLogVO> scroll(String after, int size, String sortBy, boolean descending, String operation,
+                                       Instant start, Instant end);
+
+    /**
+     * Writes the records as an xlsx workbook, reading them page by page.
+     *
+     * @param start The start of the time window, or null for no lower bound.
+     * @param end   The end of the time window, or null for no upper bound.
+     * @param os    The output stream, left open.
+     * @throws IOException If the workbook could not be written.
+     */
+    void export(Instant start, Instant end, OutputStream os) throws IOException;
 
 }
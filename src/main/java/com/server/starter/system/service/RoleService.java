@@ -15,6 +15,7 @@
  */
 package com.server.starter.system.service;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.service.ServletBasicService;
 import com.server.starter.system.dto.RoleDTO;
 import com.server.starter.system.vo.RoleVO;
@@ -39,4 +40,16 @@ public interface RoleService extends ServletBasicService<RoleDTO, RoleVO> {
      */
     Page<RoleVO> retrieve(int page, int size, String sortBy, boolean descending, String name);
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<RoleVO> scroll(String after, int size, String sortBy, boolean descending, String name);
+
 }
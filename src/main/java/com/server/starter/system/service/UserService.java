@@ -15,11 +15,16 @@
  */
 package com.server.starter.system.service;
 
+import com.server.starter.domain.KeysetSlice;
 import com.server.starter.service.ServletBasicService;
 import com.server.starter.system.dto.UserDTO;
 import com.server.starter.system.vo.UserVO;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * user service.
  *
@@ -39,6 +44,18 @@ public interface UserService extends ServletBasicService<UserDTO, UserVO> {
      */
     Page<UserVO> retrieve(int page, int size, String sortBy, boolean descending, String name);
 
+    /**
+     * Retrieves the records following a cursor, without counting the total.
+     *
+     * @param after      The cursor returned with the previous slice, or null for the first slice.
+     * @param size       The maximum number of records.
+     * @param sortBy     The field to sort by. If null, records are sorted by id.
+     * @param descending Whether sorting should be in descending order.
+     * @param name       The name filter for the records.
+     * @return A slice of records, with the cursor of the next slice.
+     */
+    KeysetSlice<UserVO> scroll(String after, int size, String sortBy, boolean descending, String name);
+
     /**
      * Fetch user
      *
@@ -46,4 +63,14 @@ public interface UserService extends ServletBasicService<UserDTO, UserVO> {
      * @return Record
      */
     UserVO findByUsername(String username);
+
+    /**
+     * Writes the records as an xlsx workbook, reading them page by page.
+     *
+     * @param ids The IDs of the records, or empty for all records.
+     * @param os  The output stream, left open.
+     * @throws IOException If the workbook could not be written.
+     */
+    void export(List<Long> ids, OutputStream os) throws IOException;
+
 }
@@ -16,6 +16,11 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.KeysetTemplate;
+import com.server.starter.service.PageTemplate;
 import com.server.starter.system.domain.AccessLog;
 import com.server.starter.system.dto.AccessLogDTO;
 import com.server.starter.system.repository.AccessLogRepository;
@@ -23,9 +28,13 @@ import com.server.starter.system.service.AccessLogService;
 import com.server.starter.system.vo.AccessLogVO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.Objects;
 
 /**
@@ -37,26 +46,54 @@ import java.util.Objects;
 public class AccessLogServiceImpl implements AccessLogService {
 
     private final AccessLogRepository accessLogRepository;
+    private final KeysetTemplate keysetTemplate;
+    private final PageTemplate pageTemplate;
+    private final ExcelExportTemplate excelExportTemplate;
 
     /**
      * <p>Constructor for AccessLogServiceImpl.</p>
      *
      * @param accessLogRepository a {@link AccessLogRepository} object
+     * @param keysetTemplate      a {@link KeysetTemplate} object
+     * @param pageTemplate        a {@link PageTemplate} object
+     * @param excelExportTemplate a {@link ExcelExportTemplate} object
      */
-    public AccessLogServiceImpl(AccessLogRepository accessLogRepository) {
+    public AccessLogServiceImpl(AccessLogRepository accessLogRepository, KeysetTemplate keysetTemplate,
+                                PageTemplate pageTemplate, ExcelExportTemplate excelExportTemplate) {
         this.accessLogRepository = accessLogRepository;
+        this.keysetTemplate = keysetTemplate;
+        this.pageTemplate = pageTemplate;
+        this.excelExportTemplate = excelExportTemplate;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<AccessLogVO> retrieve(int page, int size, String sortBy, boolean descending, String url) {
+    public Page<AccessLogVO> retrieve(int page, int size, String sortBy, boolean descending, String url,
+                                      Instant start, Instant end, CountMode count) {
         Pageable pageable = pageable(page, size, sortBy, descending);
 
+        if (Objects.nonNull(count) && count != CountMode.EXACT) {
+            return pageTemplate.page(AccessLog.class, window(start, end), pageable, count).map(this::convert);
+        }
+        if (Objects.nonNull(start) || Objects.nonNull(end)) {
+            return accessLogRepository.findAllByCreatedDateBetween(Objects.requireNonNullElse(start, Instant.EPOCH),
+                    Objects.requireNonNullElseGet(end, Instant::now), pageable).map(this::convert);
+        }
         return accessLogRepository.findAll(pageable).map(this::convert);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<AccessLogVO> scroll(String after, int size, String sortBy, boolean descending, String url,
+                                           Instant start, Instant end) {
+        return keysetTemplate.scroll(AccessLog.class, window(start, end), after, size, sortBy, descending)
+                .map(this::convert);
+    }
+
     @Override
     public AccessLogVO fetch(Long id) {
         Assert.notNull(id, "id must not be null.");
@@ -81,6 +118,22 @@ public class AccessLogServiceImpl implements AccessLogService {
         accessLogRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(Instant start, Instant end, OutputStream os) throws IOException {
+        excelExportTemplate.export(AccessLog.class, window(start, end), this::convert, os);
+    }
+
+    private static Criteria window(Instant start, Instant end) {
+        if (Objects.isNull(start) && Objects.isNull(end)) {
+            return Criteria.empty();
+        }
+        return Criteria.where("createdDate").between(Objects.requireNonNullElse(start, Instant.EPOCH),
+                Objects.requireNonNullElseGet(end, Instant::now));
+    }
+
     private AccessLogVO convert(AccessLog accessLog) {
         AccessLogVO vo = convert(accessLog, AccessLogVO.class);
         vo.setIp(Objects.nonNull(accessLog.getIp()) ? accessLog.getIp().toString() : null);
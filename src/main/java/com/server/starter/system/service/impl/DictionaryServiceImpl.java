@@ -81,8 +81,7 @@ public class DictionaryServiceImpl extends ServletAbstractTreeNodeService<Dictio
     @Override
     public List<DictionaryVO> subset(Long id) {
         Assert.notNull(id, "id must not be null.");
-        return dictionaryRepository.findAllBySuperiorId(id)
-                .stream().map(dictionary -> convert(dictionary, DictionaryVO.class)).toList();
+        return convertAll(dictionaryRepository.findAllBySuperiorId(id), DictionaryVO.class);
     }
 
     /**
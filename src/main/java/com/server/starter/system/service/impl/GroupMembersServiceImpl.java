@@ -16,6 +16,7 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.GroupMembers;
 import com.server.starter.system.repository.GroupMembersRepository;
 import com.server.starter.system.service.GroupMembersService;
@@ -34,14 +35,17 @@ import java.util.Set;
 public class GroupMembersServiceImpl implements GroupMembersService {
 
     private final GroupMembersRepository groupMembersRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * <p>Constructor for GroupMembersServiceImpl.</p>
      *
      * @param groupMembersRepository a {@link GroupMembersRepository} object
+     * @param userDetailsCache       a {@link UserDetailsCache} object
      */
-    public GroupMembersServiceImpl(GroupMembersRepository groupMembersRepository) {
+    public GroupMembersServiceImpl(GroupMembersRepository groupMembersRepository, UserDetailsCache userDetailsCache) {
         this.groupMembersRepository = groupMembersRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
@@ -78,6 +82,9 @@ public class GroupMembersServiceImpl implements GroupMembersService {
             groupMember.setUsername(username);
             return groupMember;
         }).toList();
-        return groupMembersRepository.saveAll(groupMembers);
+        List<GroupMembers> saved = groupMembersRepository.saveAll(groupMembers);
+        // the new members get the authorities of this group
+        userDetailsCache.evict(usernames);
+        return saved;
     }
 }
@@ -17,8 +17,10 @@ package com.server.starter.system.service.impl;
 
 import com.server.starter.domain.TreeNode;
 import com.server.starter.service.ServletAbstractTreeNodeService;
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.Group;
 import com.server.starter.system.dto.GroupDTO;
+import com.server.starter.system.repository.GroupMembersRepository;
 import com.server.starter.system.repository.GroupRepository;
 import com.server.starter.system.service.GroupService;
 import com.server.starter.system.vo.GroupVO;
@@ -38,14 +40,21 @@ import java.util.List;
 public class GroupServiceImpl extends ServletAbstractTreeNodeService<Group> implements GroupService {
 
     private final GroupRepository groupRepository;
+    private final GroupMembersRepository groupMembersRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * <p>Constructor for GroupServiceImpl.</p>
      *
-     * @param groupRepository a {@link GroupRepository} object
+     * @param groupRepository        a {@link GroupRepository} object
+     * @param groupMembersRepository a {@link GroupMembersRepository} object
+     * @param userDetailsCache       a {@link UserDetailsCache} object
      */
-    public GroupServiceImpl(GroupRepository groupRepository) {
+    public GroupServiceImpl(GroupRepository groupRepository, GroupMembersRepository groupMembersRepository,
+                            UserDetailsCache userDetailsCache) {
         this.groupRepository = groupRepository;
+        this.groupMembersRepository = groupMembersRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
@@ -127,7 +136,10 @@ public class GroupServiceImpl extends ServletAbstractTreeNodeService<Group> impl
     @Override
     public void remove(Long id) {
         Assert.notNull(id, "id must not be null.");
+        List<String> usernames = groupMembersRepository.findUsernamesByGroupId(id);
         groupRepository.deleteById(id);
+        // the members lose the authorities of this group
+        userDetailsCache.evict(usernames);
     }
 
 }
@@ -16,6 +16,10 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.service.KeysetTemplate;
+import com.server.starter.service.PageTemplate;
 import com.server.starter.system.domain.Message;
 import com.server.starter.system.dto.MessageDTO;
 import com.server.starter.system.repository.MessageRepository;
@@ -25,10 +29,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.util.Objects;
+
 /**
  * message service impl.
  *
@@ -38,29 +45,50 @@ import org.springframework.util.StringUtils;
 public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
+    private final KeysetTemplate keysetTemplate;
+    private final PageTemplate pageTemplate;
 
     /**
      * <p>Constructor for MessageServiceImpl.</p>
      *
      * @param messageRepository a {@link MessageRepository} object
+     * @param keysetTemplate    a {@link KeysetTemplate} object
+     * @param pageTemplate      a {@link PageTemplate} object
      */
-    public MessageServiceImpl(MessageRepository messageRepository) {
+    public MessageServiceImpl(MessageRepository messageRepository, KeysetTemplate keysetTemplate,
+                              PageTemplate pageTemplate) {
         this.messageRepository = messageRepository;
+        this.keysetTemplate = keysetTemplate;
+        this.pageTemplate = pageTemplate;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<MessageVO> retrieve(int page, int size, String sortBy, boolean descending, String title) {
+    public Page<MessageVO> retrieve(int page, int size, String sortBy, boolean descending, String title,
+                                    CountMode count) {
         Sort sort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC,
                 StringUtils.hasText(sortBy) ? sortBy : "id");
         Pageable pageable = PageRequest.of(page, size, sort);
 
+        if (Objects.nonNull(count) && count != CountMode.EXACT) {
+            return pageTemplate.page(Message.class, Criteria.empty(), pageable, count)
+                    .map(message -> convert(message, MessageVO.class));
+        }
         return messageRepository.findAll(pageable)
                 .map(message -> convert(message, MessageVO.class));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<MessageVO> scroll(String after, int size, String sortBy, boolean descending, String title) {
+        return keysetTemplate.scroll(Message.class, Criteria.empty(), after, size, sortBy, descending)
+                .map(message -> convert(message, MessageVO.class));
+    }
+
     /**
      * {@inheritDoc}
      */
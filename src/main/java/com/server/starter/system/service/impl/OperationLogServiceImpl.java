@@ -16,6 +16,11 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.KeysetTemplate;
+import com.server.starter.service.PageTemplate;
 import com.server.starter.system.domain.OperationLog;
 import com.server.starter.system.dto.OperationLogDTO;
 import com.server.starter.system.repository.OperationLogRepository;
@@ -25,10 +30,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.Objects;
 
 /**
@@ -40,28 +49,56 @@ import java.util.Objects;
 public class OperationLogServiceImpl implements OperationLogService {
 
     private final OperationLogRepository operationLogRepository;
+    private final KeysetTemplate keysetTemplate;
+    private final PageTemplate pageTemplate;
+    private final ExcelExportTemplate excelExportTemplate;
 
     /**
      * <p>Constructor for AccessLogServiceImpl.</p>
      *
      * @param operationLogRepository a {@link OperationLogRepository} object
+     * @param keysetTemplate         a {@link KeysetTemplate} object
+     * @param pageTemplate           a {@link PageTemplate} object
+     * @param excelExportTemplate    a {@link ExcelExportTemplate} object
      */
-    public OperationLogServiceImpl(OperationLogRepository operationLogRepository) {
+    public OperationLogServiceImpl(OperationLogRepository operationLogRepository, KeysetTemplate keysetTemplate,
+                                   PageTemplate pageTemplate, ExcelExportTemplate excelExportTemplate) {
         this.operationLogRepository = operationLogRepository;
+        this.keysetTemplate = keysetTemplate;
+        this.pageTemplate = pageTemplate;
+        this.excelExportTemplate = excelExportTemplate;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<OperationLogVO> retrieve(int page, int size, String sortBy, boolean descending, String operation) {
+    public Page<OperationLogVO> retrieve(int page, int size, String sortBy, boolean descending, String operation,
+                                         Instant start, Instant end, CountMode count) {
         Sort sort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC,
                 StringUtils.hasText(sortBy) ? sortBy : "id");
         Pageable pageable = PageRequest.of(page, size, sort);
 
+        if (Objects.nonNull(count) && count != CountMode.EXACT) {
+            return pageTemplate.page(OperationLog.class, window(start, end), pageable, count).map(this::convert);
+        }
+        if (Objects.nonNull(start) || Objects.nonNull(end)) {
+            return operationLogRepository.findAllByCreatedDateBetween(Objects.requireNonNullElse(start, Instant.EPOCH),
+                    Objects.requireNonNullElseGet(end, Instant::now), pageable).map(this::convert);
+        }
         return operationLogRepository.findAll(pageable).map(this::convert);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<OperationLogVO> scroll(String after, int size, String sortBy, boolean descending,
+                                              String operation, Instant start, Instant end) {
+        return keysetTemplate.scroll(OperationLog.class, window(start, end), after, size, sortBy, descending)
+                .map(this::convert);
+    }
+
     @Override
     public OperationLogVO fetch(Long id) {
         Assert.notNull(id, "id must not be null.");
@@ -86,6 +123,22 @@ public class OperationLogServiceImpl implements OperationLogService {
         operationLogRepository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(Instant start, Instant end, OutputStream os) throws IOException {
+        excelExportTemplate.export(OperationLog.class, window(start, end), this::convert, os);
+    }
+
+    private static Criteria window(Instant start, Instant end) {
+        if (Objects.isNull(start) && Objects.isNull(end)) {
+            return Criteria.empty();
+        }
+        return Criteria.where("createdDate").between(Objects.requireNonNullElse(start, Instant.EPOCH),
+                Objects.requireNonNullElseGet(end, Instant::now));
+    }
+
     private OperationLogVO convert(OperationLog operationLog) {
         OperationLogVO vo = convert(operationLog, OperationLogVO.class);
         vo.setIp(Objects.nonNull(operationLog.getIp()) ? operationLog.getIp().toString() : null);
@@ -17,13 +17,13 @@ package com.server.starter.system.service.impl;
 
 import com.server.starter.domain.TreeNode;
 import com.server.starter.service.ServletAbstractTreeNodeService;
+import com.server.starter.system.cache.PrivilegeTreeCache;
 import com.server.starter.system.domain.Privilege;
-import com.server.starter.system.domain.RoleMembers;
-import com.server.starter.system.domain.RolePrivileges;
+import com.server.starter.system.domain.SubsetCount;
 import com.server.starter.system.dto.PrivilegeDTO;
+import com.server.starter.system.mapper.PrivilegeMapper;
 import com.server.starter.system.repository.PrivilegeRepository;
 import com.server.starter.system.repository.RoleMembersRepository;
-import com.server.starter.system.repository.RolePrivilegesRepository;
 import com.server.starter.system.service.PrivilegeService;
 import com.server.starter.system.vo.PrivilegeVO;
 import org.springframework.data.domain.Page;
@@ -36,6 +36,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * privilege service impl.
@@ -45,21 +46,25 @@ import java.util.*;
 @Service
 public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privilege> implements PrivilegeService {
 
-    public final RoleMembersRepository roleMembersRepository;
-    public final RolePrivilegesRepository rolePrivilegesRepository;
     private final PrivilegeRepository privilegeRepository;
+    private final PrivilegeMapper privilegeMapper;
+    private final RoleMembersRepository roleMembersRepository;
+    private final PrivilegeTreeCache privilegeTreeCache;
 
     /**
      * Constructor for PrivilegeServiceImpl.
      *
-     * @param roleMembersRepository    a {@link RoleMembersRepository} object
-     * @param rolePrivilegesRepository a {@link RolePrivilegesRepository} object
-     * @param privilegeRepository      a {@link PrivilegeRepository} object
+     * @param privilegeRepository   a {@link PrivilegeRepository} object
+     * @param privilegeMapper       a {@link PrivilegeMapper} object
+     * @param roleMembersRepository a {@link RoleMembersRepository} object
+     * @param privilegeTreeCache    a {@link PrivilegeTreeCache} object
      */
-    public PrivilegeServiceImpl(RoleMembersRepository roleMembersRepository, RolePrivilegesRepository rolePrivilegesRepository, PrivilegeRepository privilegeRepository) {
-        this.roleMembersRepository = roleMembersRepository;
-        this.rolePrivilegesRepository = rolePrivilegesRepository;
+    public PrivilegeServiceImpl(PrivilegeRepository privilegeRepository, PrivilegeMapper privilegeMapper,
+                                RoleMembersRepository roleMembersRepository, PrivilegeTreeCache privilegeTreeCache) {
         this.privilegeRepository = privilegeRepository;
+        this.privilegeMapper = privilegeMapper;
+        this.roleMembersRepository = roleMembersRepository;
+        this.privilegeTreeCache = privilegeTreeCache;
     }
 
     /**
@@ -71,7 +76,9 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
                 StringUtils.hasText(sortBy) ? sortBy : "id");
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return privilegeRepository.findAllBySuperiorIdIsNull(pageable).map(this::convert);
+        Page<Privilege> privileges = privilegeRepository.findAllBySuperiorIdIsNull(pageable);
+        Map<Long, Long> counts = this.countSubset(privileges.getContent());
+        return privileges.map(privilege -> this.convert(privilege, counts));
     }
 
     /**
@@ -79,22 +86,10 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
      */
     @Override
     public List<TreeNode> tree(String username) {
-        List<Privilege> privileges = new ArrayList<>();
-        List<RoleMembers> roleMembers = roleMembersRepository.findAllByUsername(username);
-        if (CollectionUtils.isEmpty(roleMembers)) {
-            return Collections.emptyList();
-        }
-        for (RoleMembers roleMember : roleMembers) {
-            List<RolePrivileges> rolePrivileges = rolePrivilegesRepository.findAllByRoleId(roleMember.getRoleId());
-            for (RolePrivileges rolePrivilege : rolePrivileges) {
-                privilegeRepository.findById(rolePrivilege.getPrivilegeId()).ifPresent(privilege -> {
-                    if (privilege.isEnabled()) {
-                        privileges.add(privilege);
-                    }
-                });
-            }
-        }
-        return this.convertTree(privileges);
+        Assert.hasText(username, "username must not be blank.");
+
+        return privilegeTreeCache.get(username,
+                key -> this.convertTree(privilegeRepository.findAllByUsername(key)));
     }
 
     /**
@@ -102,7 +97,9 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
      */
     @Override
     public List<PrivilegeVO> subset(Long superiorId) {
-        return privilegeRepository.findAllBySuperiorId(superiorId).stream().map(this::convert).toList();
+        List<Privilege> privileges = privilegeRepository.findAllBySuperiorId(superiorId);
+        Map<Long, Long> counts = this.countSubset(privileges);
+        return privileges.stream().map(privilege -> this.convert(privilege, counts)).toList();
     }
 
     /**
@@ -117,7 +114,9 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
 
     @Override
     public boolean enable(Long id) {
-        return privilegeRepository.updateEnabledById(id);
+        boolean enabled = privilegeRepository.updateEnabledById(id);
+        this.evictTrees(id);
+        return enabled;
     }
 
     /**
@@ -129,6 +128,7 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
         return privilegeRepository.findById(id).map(existing -> {
                     Privilege privilege = convert(dto, existing);
                     privilege = privilegeRepository.save(privilege);
+                    this.evictTrees(id);
                     return this.convert(privilege);
                 })
                 .orElseThrow();
@@ -141,7 +141,10 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
     public void remove(Long id) {
         Assert.notNull(id, "id must not be null.");
 
+        // resolve the holders first, the role links are gone after the delete
+        List<String> usernames = roleMembersRepository.findUsernamesByPrivilegeId(id);
         privilegeRepository.deleteById(id);
+        privilegeTreeCache.evict(usernames);
     }
 
     /**
@@ -157,6 +160,43 @@ public class PrivilegeServiceImpl extends ServletAbstractTreeNodeService<Privile
         return vo;
     }
 
+    /**
+     * 转换对象
+     *
+     * @param privilege 基础对象
+     * @param counts    下级数量，key为superior主键
+     * @return 结果对象
+     */
+    private PrivilegeVO convert(Privilege privilege, Map<Long, Long> counts) {
+        PrivilegeVO vo = convert(privilege, PrivilegeVO.class);
+        vo.setCount(counts.getOrDefault(privilege.getId(), 0L));
+        return vo;
+    }
+
+    /**
+     * 一次查询统计下级数量
+     *
+     * @param privileges 集合数据
+     * @return 下级数量，key为superior主键
+     */
+    private Map<Long, Long> countSubset(List<Privilege> privileges) {
+        if (CollectionUtils.isEmpty(privileges)) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = privileges.stream().map(Privilege::getId).toList();
+        return privilegeMapper.countBySuperiorIdIn(ids).stream()
+                .collect(Collectors.toMap(SubsetCount::getSuperiorId, SubsetCount::getCount));
+    }
+
+    /**
+     * 清除拥有该权限的用户的树缓存
+     *
+     * @param id privilege主键
+     */
+    private void evictTrees(Long id) {
+        privilegeTreeCache.evict(roleMembersRepository.findUsernamesByPrivilegeId(id));
+    }
+
     /**
      * 转换为TreeNode
      *
@@ -16,6 +16,8 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.system.cache.PrivilegeTreeCache;
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.RoleMembers;
 import com.server.starter.system.repository.RoleMembersRepository;
 import com.server.starter.system.service.RoleMembersService;
@@ -34,14 +36,21 @@ import java.util.Set;
 public class RoleMembersServiceImpl implements RoleMembersService {
 
     private final RoleMembersRepository roleMembersRepository;
+    private final PrivilegeTreeCache privilegeTreeCache;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * <p>Constructor for RoleMembersServiceImpl.</p>
      *
      * @param roleMembersRepository a {@link RoleMembersRepository} object
+     * @param privilegeTreeCache    a {@link PrivilegeTreeCache} object
+     * @param userDetailsCache      a {@link UserDetailsCache} object
      */
-    public RoleMembersServiceImpl(RoleMembersRepository roleMembersRepository) {
+    public RoleMembersServiceImpl(RoleMembersRepository roleMembersRepository, PrivilegeTreeCache privilegeTreeCache,
+                                  UserDetailsCache userDetailsCache) {
         this.roleMembersRepository = roleMembersRepository;
+        this.privilegeTreeCache = privilegeTreeCache;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
@@ -78,6 +87,10 @@ public class RoleMembersServiceImpl implements RoleMembersService {
             roleMember.setUsername(username);
             return roleMember;
         }).toList();
-        return roleMembersRepository.saveAll(roleMembers);
+        List<RoleMembers> saved = roleMembersRepository.saveAll(roleMembers);
+        // the new members see the privileges of this role
+        privilegeTreeCache.evict(usernames);
+        userDetailsCache.evict(usernames);
+        return saved;
     }
 }
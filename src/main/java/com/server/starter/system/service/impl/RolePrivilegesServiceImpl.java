@@ -16,7 +16,9 @@
 
 package com.server.starter.system.service.impl;
 
+import com.server.starter.system.cache.PrivilegeTreeCache;
 import com.server.starter.system.domain.RolePrivileges;
+import com.server.starter.system.repository.RoleMembersRepository;
 import com.server.starter.system.repository.RolePrivilegesRepository;
 import com.server.starter.system.service.RolePrivilegesService;
 import org.springframework.stereotype.Service;
@@ -34,14 +36,22 @@ import java.util.Set;
 public class RolePrivilegesServiceImpl implements RolePrivilegesService {
 
     private final RolePrivilegesRepository rolePrivilegesRepository;
+    private final RoleMembersRepository roleMembersRepository;
+    private final PrivilegeTreeCache privilegeTreeCache;
 
     /**
      * <p>Constructor for RolePrivilegesServiceImpl.</p>
      *
      * @param rolePrivilegesRepository a {@link RolePrivilegesRepository} object
+     * @param roleMembersRepository    a {@link RoleMembersRepository} object
+     * @param privilegeTreeCache       a {@link PrivilegeTreeCache} object
      */
-    public RolePrivilegesServiceImpl(RolePrivilegesRepository rolePrivilegesRepository) {
+    public RolePrivilegesServiceImpl(RolePrivilegesRepository rolePrivilegesRepository,
+                                     RoleMembersRepository roleMembersRepository,
+                                     PrivilegeTreeCache privilegeTreeCache) {
         this.rolePrivilegesRepository = rolePrivilegesRepository;
+        this.roleMembersRepository = roleMembersRepository;
+        this.privilegeTreeCache = privilegeTreeCache;
     }
 
     /**
@@ -78,6 +88,9 @@ public class RolePrivilegesServiceImpl implements RolePrivilegesService {
             rolePrivilege.setPrivilegeId(privilegeId);
             return rolePrivilege;
         }).toList();
-        return rolePrivilegesRepository.saveAll(rolePrivileges);
+        List<RolePrivileges> saved = rolePrivilegesRepository.saveAll(rolePrivileges);
+        // every member of this role sees the new privileges
+        privilegeTreeCache.evict(roleMembersRepository.findUsernamesByRoleId(roleId));
+        return saved;
     }
 }
@@ -15,6 +15,8 @@
  */
 package com.server.starter.system.service.impl;
 
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.service.KeysetTemplate;
 import com.server.starter.system.domain.Role;
 import com.server.starter.system.dto.RoleDTO;
 import com.server.starter.system.repository.RoleRepository;
@@ -24,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -37,14 +40,17 @@ import org.springframework.util.StringUtils;
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
+    private final KeysetTemplate keysetTemplate;
 
     /**
      * <p>Constructor for RoleServiceImpl.</p>
      *
      * @param roleRepository a {@link RoleRepository} object
+     * @param keysetTemplate a {@link KeysetTemplate} object
      */
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, KeysetTemplate keysetTemplate) {
         this.roleRepository = roleRepository;
+        this.keysetTemplate = keysetTemplate;
     }
 
     /**
@@ -60,6 +66,15 @@ public class RoleServiceImpl implements RoleService {
                 .map(role -> convert(role, RoleVO.class));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<RoleVO> scroll(String after, int size, String sortBy, boolean descending, String name) {
+        return keysetTemplate.scroll(Role.class, Criteria.empty(), after, size, sortBy, descending)
+                .map(role -> convert(role, RoleVO.class));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -15,6 +15,10 @@
  */
 package com.server.starter.system.service.impl;
 
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.KeysetTemplate;
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.User;
 import com.server.starter.system.dto.UserDTO;
 import com.server.starter.system.repository.UserRepository;
@@ -24,10 +28,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * user service impl.
  *
@@ -37,14 +48,28 @@ import org.springframework.util.StringUtils;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final KeysetTemplate keysetTemplate;
+    private final ExcelExportTemplate excelExportTemplate;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * <p>Constructor for UserServiceImpl.</p>
      *
-     * @param userRepository a {@link UserRepository} object
+     * @param userRepository      a {@link UserRepository} object
+     * @param keysetTemplate      a {@link KeysetTemplate} object
+     * @param excelExportTemplate a {@link ExcelExportTemplate} object
+     * @param userDetailsCache    a {@link UserDetailsCache} object
+     * @param passwordEncoder     a {@link PasswordEncoder} object
      */
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, KeysetTemplate keysetTemplate,
+                           ExcelExportTemplate excelExportTemplate, UserDetailsCache userDetailsCache,
+                           PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.keysetTemplate = keysetTemplate;
+        this.excelExportTemplate = excelExportTemplate;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordEncoder = passwordEncoder;
     }
 
     /**
@@ -63,6 +88,17 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll(pageable).map(user -> convert(user, UserVO.class));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetSlice<UserVO> scroll(String after, int size, String sortBy, boolean descending, String name) {
+        Criteria criteria = StringUtils.hasText(name) ?
+                Criteria.where("username").like("%" + name + "%") : Criteria.empty();
+        return keysetTemplate.scroll(User.class, criteria, after, size, sortBy, descending)
+                .map(user -> convert(user, UserVO.class));
+    }
+
     @Override
     public UserVO findByUsername(String username) {
         Assert.hasText(username, "username must not be blank.");
@@ -84,7 +120,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean enable(Long id) {
-        return userRepository.updateEnabledById(id);
+        boolean enabled = userRepository.updateEnabledById(id);
+        // a disabled user must not keep signing in from the cache
+        userRepository.findById(id).map(User::getUsername).ifPresent(userDetailsCache::evict);
+        return enabled;
     }
 
     /**
@@ -105,7 +144,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserVO create(UserDTO dto) {
         User user = convert(dto, User.class);
-        user.setPassword("{noop}123456");
+        user.setPassword(passwordEncoder.encode("123456"));
 
         userRepository.save(user);
         return convert(user, UserVO.class);
@@ -120,8 +159,11 @@ public class UserServiceImpl implements UserService {
 
         return userRepository.findById(id)
                 .map(existing -> {
+                    String username = existing.getUsername();
                     User user = convert(dto, existing);
                     user = userRepository.save(user);
+                    userDetailsCache.evict(username);
+                    userDetailsCache.evict(user.getUsername());
                     return convert(user, UserVO.class);
                 }).orElseThrow();
     }
@@ -132,7 +174,17 @@ public class UserServiceImpl implements UserService {
     @Override
     public void remove(Long id) {
         Assert.notNull(id, "id must not be null.");
+        String username = userRepository.findById(id).map(User::getUsername).orElse(null);
         userRepository.deleteById(id);
+        userDetailsCache.evict(username);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(List<Long> ids, OutputStream os) throws IOException {
+        Criteria criteria = CollectionUtils.isEmpty(ids) ? Criteria.empty() : Criteria.where("id").in(ids);
+        excelExportTemplate.export(User.class, criteria, user -> convert(user, UserVO.class), os);
+    }
 }
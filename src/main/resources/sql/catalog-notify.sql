@@ -0,0 +1,30 @@
+/*
+ *  Copyright 2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+-- Notify catalog_changed after every DDL command, including COMMENT ON.
+-- Event triggers can only be created by a superuser, the application works without it.
+CREATE OR REPLACE FUNCTION notify_catalog_changed() RETURNS event_trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_notify('catalog_changed', tg_tag);
+END;
+$$;
+
+DROP EVENT TRIGGER IF EXISTS catalog_changed;
+CREATE EVENT TRIGGER catalog_changed ON ddl_command_end
+    EXECUTE FUNCTION notify_catalog_changed();
@@ -261,6 +261,9 @@ ON COLUMN role_members.role_id IS '角色ID';
 COMMENT
 ON COLUMN role_members.username IS '用户名';
 
+-- Create index
+CREATE INDEX ix_role_members_username ON role_members (username, role_id);
+
 -- Drop table if exists privileges
 DROP TABLE IF EXISTS privileges;
 
@@ -315,6 +318,9 @@ ON COLUMN privileges.last_modified_by IS '最后修改者';
 COMMENT
 ON COLUMN privileges.last_modified_date IS '最后修改时间';
 
+-- Create index
+CREATE INDEX ix_privileges_superior_id ON privileges (superior_id);
+
 -- Drop table if exists role_privileges
 DROP TABLE IF EXISTS role_privileges;
 
@@ -338,6 +344,9 @@ ON COLUMN role_privileges.role_id IS '角色ID';
 COMMENT
 ON COLUMN role_privileges.privilege_id IS '权限ID';
 
+-- Create index
+CREATE INDEX ix_role_privileges_privilege_id ON role_privileges (privilege_id, role_id);
+
 -- Drop table if exists dictionaries
 DROP TABLE IF EXISTS dictionaries;
 
@@ -427,9 +436,10 @@ ON COLUMN messages.last_modified_date IS '最后修改时间';
 DROP TABLE IF EXISTS access_logs;
 
 -- Table structure access_logs
+-- Partitioned by month on created_date, partitions are created and expired by LogPartitionManager
 CREATE TABLE access_logs
 (
-    id                 bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id                 bigserial,
     url                varchar(127),
     http_method        varchar(10),
     params             varchar(255),
@@ -443,8 +453,12 @@ CREATE TABLE access_logs
     created_by         varchar(64),
     created_date       timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
     last_modified_by   varchar(64),
-    last_modified_date timestamp
-);
+    last_modified_date timestamp,
+    PRIMARY KEY (id, created_date)
+) PARTITION BY RANGE (created_date);
+
+-- Create index
+CREATE INDEX ix_access_logs_created_date ON access_logs (created_date);
 
 -- Add comment to the table and columns
 COMMENT
@@ -485,9 +499,10 @@ ON COLUMN access_logs.last_modified_date IS '最后修改时间';
 DROP TABLE IF EXISTS operation_logs;
 
 -- Table structure operation_logs
+-- Partitioned by month on created_date, partitions are created and expired by LogPartitionManager
 CREATE TABLE operation_logs
 (
-    id                 bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id                 bigserial,
     operation          varchar(64),
     os                 varchar(64),
     browser            varchar(64),
@@ -505,8 +520,12 @@ CREATE TABLE operation_logs
     created_by         varchar(64),
     created_date       timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
     last_modified_by   varchar(64),
-    last_modified_date timestamp
-);
+    last_modified_date timestamp,
+    PRIMARY KEY (id, created_date)
+) PARTITION BY RANGE (created_date);
+
+-- Create index
+CREATE INDEX ix_operation_logs_created_date ON operation_logs (created_date);
 
 -- Add comment to the table and columns
 COMMENT
@@ -710,7 +729,8 @@ CREATE TABLE file_records
     name               varchar(64)  NOT NULL,
     type               varchar(255),
     path               varchar(255),
-    size               float4,
+    size               bigint,
+    hash               varchar(64),
     description        varchar(255),
     enabled            bool         NOT NULL DEFAULT true,
     created_by         varchar(64),
@@ -729,6 +749,8 @@ ON COLUMN file_records.path IS '路径';
 COMMENT
 ON COLUMN file_records.size IS '大小';
 COMMENT
+ON COLUMN file_records.hash IS '内容摘要，对应 file_blobs.hash';
+COMMENT
 ON COLUMN file_records.description IS '描述';
 COMMENT
 ON COLUMN file_records.enabled IS '是否启用';
@@ -744,6 +766,80 @@ COMMENT
 ON TABLE file_records IS '文件记录表';
 
 
+-- ----------------------------
+-- Table structure for file_blobs
+-- ----------------------------
+DROP TABLE IF EXISTS file_blobs;
+CREATE TABLE file_blobs
+(
+    hash          varchar(64) PRIMARY KEY,
+    path          varchar(255) NOT NULL,
+    size          bigint       NOT NULL,
+    ref_count     bigint       NOT NULL DEFAULT 0,
+    released_date timestamp(6)
+);
+CREATE INDEX ix_file_blobs_released_date ON file_blobs (released_date) WHERE ref_count = 0;
+COMMENT
+ON COLUMN file_blobs.hash IS '内容摘要，SHA-256';
+COMMENT
+ON COLUMN file_blobs.path IS '存储路径';
+COMMENT
+ON COLUMN file_blobs.size IS '大小';
+COMMENT
+ON COLUMN file_blobs.ref_count IS '引用数';
+COMMENT
+ON COLUMN file_blobs.released_date IS '引用数减到0的时间';
+COMMENT
+ON TABLE file_blobs IS '文件内容表';
+
+
+-- ----------------------------
+-- Table structure for upload_sessions
+-- ----------------------------
+DROP TABLE IF EXISTS upload_sessions;
+CREATE TABLE upload_sessions
+(
+    id                 bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    name               varchar(255) NOT NULL,
+    type               varchar(255),
+    size               bigint       NOT NULL,
+    chunk_size         integer      NOT NULL,
+    chunk_count        integer      NOT NULL,
+    received           bytea        NOT NULL,
+    enabled            bool         NOT NULL DEFAULT true,
+    created_by         varchar(64),
+    created_date       timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_modified_by   varchar(64),
+    last_modified_date timestamp(6)
+);
+COMMENT
+ON COLUMN upload_sessions.id IS '主键';
+COMMENT
+ON COLUMN upload_sessions.name IS '文件名';
+COMMENT
+ON COLUMN upload_sessions.type IS '类型';
+COMMENT
+ON COLUMN upload_sessions.size IS '大小';
+COMMENT
+ON COLUMN upload_sessions.chunk_size IS '分片大小';
+COMMENT
+ON COLUMN upload_sessions.chunk_count IS '分片数';
+COMMENT
+ON COLUMN upload_sessions.received IS '已收到的分片，按位记录';
+COMMENT
+ON COLUMN upload_sessions.enabled IS '是否启用';
+COMMENT
+ON COLUMN upload_sessions.created_by IS '创建者';
+COMMENT
+ON COLUMN upload_sessions.created_date IS '创建时间';
+COMMENT
+ON COLUMN upload_sessions.last_modified_by IS '最后修改者';
+COMMENT
+ON COLUMN upload_sessions.last_modified_date IS '最后修改时间';
+COMMENT
+ON TABLE upload_sessions IS '分片上传会话表';
+
+
 -- ----------------------------
 -- Table structure for templates
 -- ----------------------------
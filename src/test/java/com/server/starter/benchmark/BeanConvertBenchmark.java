@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.benchmark;
+
+import com.server.starter.service.BeanConverterRegistry;
+import com.server.starter.system.domain.OperationLog;
+import com.server.starter.system.domain.User;
+import com.server.starter.system.vo.OperationLogVO;
+import com.server.starter.system.vo.UserVO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cglib.beans.BeanCopier;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bean convert benchmark, compares per-call {@link BeanCopier#create} with {@link BeanConverterRegistry}.
+ * <p>
+ * run: {@code mvn test-compile exec:java -Dexec.mainClass=com.server.starter.benchmark.BeanConvertBenchmark
+ * -Dexec.classpathScope=test}
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanConvertBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private User user;
+
+    private OperationLog operationLog;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("test");
+        user.setFullName("test");
+        user.setEmail("test@test.com");
+        user.setAvatar("avatar.png");
+        user.setAccountExpiresAt(Instant.now());
+        user.setAccountNonLocked(true);
+
+        operationLog = new OperationLog();
+        operationLog.setId(1L);
+        operationLog.setOperation("test");
+        operationLog.setContent("content");
+        operationLog.setUserAgent("Mozilla/5.0");
+        operationLog.setOs("Linux");
+        operationLog.setBrowser("Chrome");
+        operationLog.setStatusCode(200);
+        operationLog.setOperatedTime(Instant.now());
+
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public UserVO userCreateEachCall() throws Exception {
+        return legacyConvert(user, UserVO.class);
+    }
+
+    @Benchmark
+    public UserVO userRegistry() {
+        return BeanConverterRegistry.get(User.class, UserVO.class).convert(user);
+    }
+
+    @Benchmark
+    public OperationLogVO operationLogCreateEachCall() throws Exception {
+        return legacyConvert(operationLog, OperationLogVO.class);
+    }
+
+    @Benchmark
+    public OperationLogVO operationLogRegistry() {
+        return BeanConverterRegistry.get(OperationLog.class, OperationLogVO.class).convert(operationLog);
+    }
+
+    @Benchmark
+    public List<UserVO> userListCreateEachCall() throws Exception {
+        List<UserVO> voList = new ArrayList<>(users.size());
+        for (User u : users) {
+            voList.add(legacyConvert(u, UserVO.class));
+        }
+        return voList;
+    }
+
+    @Benchmark
+    public List<UserVO> userListConvertAll() {
+        return BeanConverterRegistry.convertAll(users, UserVO.class);
+    }
+
+    /**
+     * the conversion path used before the registry was introduced.
+     */
+    private static <S, T> T legacyConvert(S source, Class<T> targetClass) throws Exception {
+        T target = targetClass.getDeclaredConstructor().newInstance();
+        BeanCopier copier = BeanCopier.create(source.getClass(), targetClass, false);
+        copier.copy(source, target, null);
+        return target;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BeanConvertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
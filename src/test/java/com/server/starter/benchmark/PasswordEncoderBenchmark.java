@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.benchmark;
+
+import com.server.starter.system.security.TunablePasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * password encoder benchmark, measures one password check with each encoder supported by
+ * {@link TunablePasswordEncoder}, to choose the strength for a hardware profile.
+ * <p>
+ * Run it on the hardware the service is deployed to, with as many threads as
+ * {@code security.password.threads}. Pick the highest strength whose time stays within the sign-in
+ * latency budget; each step up doubles the bcrypt time. Apply it with {@code security.password.strength}
+ * or the {@code passwordencoder} actuator endpoint.
+ * <p>
+ * run: {@code mvn test-compile exec:java -Dexec.mainClass=com.server.starter.benchmark.PasswordEncoderBenchmark
+ * -Dexec.classpathScope=test -Dexec.args="2"}, the argument is the number of threads
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "11", "12", "13"})
+    private int strength;
+
+    private PasswordEncoder bcrypt;
+    private String bcryptHash;
+
+    private PasswordEncoder pbkdf2;
+    private String pbkdf2Hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bcryptHash = bcrypt.encode(PASSWORD);
+        pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        pbkdf2Hash = pbkdf2.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return bcrypt.matches(PASSWORD, bcryptHash);
+    }
+
+    /**
+     * pbkdf2 has no strength of its own, it runs with the same settings for every param.
+     */
+    @Benchmark
+    public boolean pbkdf2() {
+        return pbkdf2.matches(PASSWORD, pbkdf2Hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .threads(args.length > 0 ? Integer.parseInt(args[0]) : 1)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.benchmark;
+
+import com.server.starter.exploiter.cache.CatalogCache;
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
+import com.server.starter.exploiter.domain.Field;
+import com.server.starter.exploiter.domain.Schema;
+import com.server.starter.exploiter.domain.Template;
+import com.server.starter.exploiter.repository.FieldBatchRepository;
+import com.server.starter.exploiter.repository.FieldRepository;
+import com.server.starter.exploiter.repository.SchemaBatchRepository;
+import com.server.starter.exploiter.repository.SchemaRepository;
+import com.server.starter.exploiter.render.TemplateRenderer;
+import com.server.starter.exploiter.repository.TemplateRepository;
+import com.server.starter.exploiter.service.impl.SchemaServiceImpl;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.ExcelImportTemplate;
+import com.server.starter.service.KeysetTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.MockSettings;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.mockito.BDDMockito.given;
+
+/**
+ * schema generate benchmark, compares rendering a 50 template schema into temp files and copying them into
+ * the zip with rendering straight into the zip entries through {@link SchemaServiceImpl#generate}, on one
+ * and on several rendering threads.
+ * <p>
+ * run: {@code mvn test-compile exec:java -Dexec.mainClass=com.server.starter.benchmark.SchemaGenerateBenchmark
+ * -Dexec.classpathScope=test}
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaGenerateBenchmark {
+
+    private static final int TEMPLATES = 50;
+
+    /**
+     * keeps the mocks from recording every invocation over the whole run.
+     */
+    private static final MockSettings STUB_ONLY = Mockito.withSettings().stubOnly();
+
+    @Param({"1", "6"})
+    private int compressionLevel;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private Schema schema;
+
+    private List<Template> templates;
+
+    private Map<String, Object> dataModel;
+
+    private CompiledTemplateCache compiledTemplateCache;
+
+    private TemplateRenderer templateRenderer;
+
+    private SchemaServiceImpl schemaService;
+
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        schema = new Schema();
+        schema.setId(1L);
+        schema.setName("users");
+        schema.setDomain("User");
+        schema.setReference("com.server.starter");
+
+        templates = new ArrayList<>(TEMPLATES);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (long i = 1; i <= TEMPLATES; i++) {
+            Template template = new Template();
+            template.setId(i);
+            template.setName("%sTemplate" + i + ".java");
+            template.setSuffix(".java");
+            template.setContent("""
+                    package ${reference};
+
+                    public class ${domain} {
+                    <#list fields as field>
+                        // ${field.comment!}
+                        private ${field.fieldType} ${field.name};
+                    </#list>
+                    }
+                    """);
+            templates.add(template);
+            ids.add(i);
+        }
+        schema.setTemplates(ids);
+
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Field field = new Field();
+            field.setName("field" + i);
+            field.setFieldType("String");
+            field.setComment("comment of field " + i);
+            fields.add(field);
+        }
+        dataModel = Map.of("name", schema.getName(), "domain", schema.getDomain(),
+                "reference", schema.getReference(), "fields", fields);
+
+        SchemaRepository schemaRepository = Mockito.mock(SchemaRepository.class, STUB_ONLY);
+        FieldRepository fieldRepository = Mockito.mock(FieldRepository.class, STUB_ONLY);
+        TemplateRepository templateRepository = Mockito.mock(TemplateRepository.class, STUB_ONLY);
+        given(schemaRepository.findById(1L)).willReturn(Optional.of(schema));
+        given(fieldRepository.findAllBySchemaId(1L)).willReturn(fields);
+        given(templateRepository.findAllById(ids)).willReturn(templates);
+
+        compiledTemplateCache = new CompiledTemplateCache(new SimpleMeterRegistry(), 1000, Duration.ofHours(1));
+        templateRenderer = new TemplateRenderer(compiledTemplateCache, threads, 256);
+        schemaService = new SchemaServiceImpl(schemaRepository, fieldRepository,
+                Mockito.mock(FieldBatchRepository.class), Mockito.mock(SchemaBatchRepository.class),
+                templateRepository, Mockito.mock(CatalogCache.class), Mockito.mock(KeysetTemplate.class),
+                Mockito.mock(ExcelExportTemplate.class), Mockito.mock(ExcelImportTemplate.class), templateRenderer,
+                compressionLevel);
+        directory = Files.createTempDirectory("schema-generate");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        templateRenderer.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long tempFiles() throws Exception {
+        CountingOutputStream os = new CountingOutputStream();
+        legacyGenerate(os);
+        return os.count;
+    }
+
+    @Benchmark
+    public long streaming() throws Exception {
+        CountingOutputStream os = new CountingOutputStream();
+        schemaService.generate(schema.getId(), os);
+        return os.count;
+    }
+
+    /**
+     * the generation used before rendering was streamed, with the templates already compiled.
+     */
+    private void legacyGenerate(OutputStream os) throws Exception {
+        try (ZipOutputStream zos = new ZipOutputStream(os)) {
+            zos.setLevel(compressionLevel);
+            for (Template template : templates) {
+                File file = directory.resolve(String.format(template.getName(), schema.getDomain())).toFile();
+                try (Writer fileWriter = new FileWriter(file)) {
+                    compiledTemplateCache.get(template).process(dataModel, fileWriter);
+                }
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    zos.putNextEntry(new ZipEntry(file.getName()));
+                    byte[] buffer = new byte[1024];
+                    int length;
+                    while ((length = fis.read(buffer)) > 0) {
+                        zos.write(buffer, 0, length);
+                    }
+                    zos.closeEntry();
+                }
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SchemaGenerateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
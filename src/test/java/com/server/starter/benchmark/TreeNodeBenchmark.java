@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.benchmark;
+
+import com.server.starter.domain.TreeNode;
+import com.server.starter.service.ServletAbstractTreeNodeService;
+import com.server.starter.system.domain.Privilege;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.beans.PropertyDescriptor;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tree node benchmark, compares building a privilege tree through per-node {@link PropertyDescriptor}
+ * introspection with the cached accessors of {@link ServletAbstractTreeNodeService}.
+ * <p>
+ * run: {@code mvn test-compile exec:java -Dexec.mainClass=com.server.starter.benchmark.TreeNodeBenchmark
+ * -Dexec.classpathScope=test}
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeNodeBenchmark {
+
+    private static final Set<String> META = Set.of("path", "redirect", "component", "icon", "actions");
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private List<Privilege> privileges;
+
+    private final PrivilegeTreeService service = new PrivilegeTreeService();
+
+    @Setup
+    public void setUp() {
+        privileges = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Privilege privilege = new Privilege();
+            privilege.setId(i);
+            privilege.setName("privilege_" + i);
+            // ten roots, every other node hangs under an earlier one
+            privilege.setSuperiorId(i <= 10 ? null : i / 10);
+            privilege.setPath("/path/" + i);
+            privilege.setComponent("component/" + i);
+            privilege.setIcon("icon");
+            privilege.setActions(Set.of("create", "modify"));
+            privileges.add(privilege);
+        }
+    }
+
+    @Benchmark
+    public List<TreeNode> propertyDescriptor() throws Exception {
+        List<TreeNode> nodes = new ArrayList<>(privileges.size());
+        for (Privilege privilege : privileges) {
+            nodes.add(legacyCreateNode(privilege));
+        }
+        return service.children(nodes);
+    }
+
+    @Benchmark
+    public List<TreeNode> cachedAccessors() {
+        return service.convertToTree(privileges, META);
+    }
+
+    /**
+     * the node construction used before accessors were cached.
+     */
+    private static TreeNode legacyCreateNode(Privilege privilege) throws Exception {
+        Class<?> aClass = privilege.getClass();
+        Object id = new PropertyDescriptor("id", aClass.getSuperclass()).getReadMethod().invoke(privilege);
+        Object name = new PropertyDescriptor("name", aClass).getReadMethod().invoke(privilege);
+        Object superiorId = new PropertyDescriptor("superiorId", aClass).getReadMethod().invoke(privilege);
+        Map<String, Object> meta = new HashMap<>(META.size());
+        for (String field : META) {
+            meta.put(field, new PropertyDescriptor(field, aClass).getReadMethod().invoke(privilege));
+        }
+        return TreeNode.withId((Long) id)
+                .name(Objects.nonNull(name) ? String.valueOf(name) : null)
+                .superiorId((Long) superiorId)
+                .meta(meta).build();
+    }
+
+    private static class PrivilegeTreeService extends ServletAbstractTreeNodeService<Privilege> {
+
+        @Override
+        protected List<TreeNode> convertToTree(List<Privilege> children, Set<String> meta) {
+            return super.convertToTree(children, meta);
+        }
+
+        @Override
+        protected List<TreeNode> children(List<TreeNode> treeNodes) {
+            return super.children(treeNodes);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TreeNodeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
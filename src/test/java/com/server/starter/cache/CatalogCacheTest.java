@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.cache;
+
+import com.server.starter.exploiter.cache.CatalogCache;
+import com.server.starter.exploiter.domain.ColumnInfo;
+import com.server.starter.exploiter.domain.TableInfo;
+import com.server.starter.exploiter.mapper.ColumnMapper;
+import com.server.starter.exploiter.mapper.TableMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * catalog cache test
+ **/
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheTest {
+
+    @Mock
+    private TableMapper tableMapper;
+
+    @Mock
+    private ColumnMapper columnMapper;
+
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        catalogCache = new CatalogCache(tableMapper, columnMapper, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void columns() {
+        given(tableMapper.findAllTables()).willReturn(List.of(table("users"), table("roles")));
+        given(columnMapper.findAllColumns()).willReturn(List.of(column("roles", "name"),
+                column("users", "id"), column("users", "username")));
+
+        Assertions.assertEquals(List.of("id", "username"),
+                catalogCache.columns("users").stream().map(ColumnInfo::getColumnName).toList());
+        Assertions.assertEquals(1, catalogCache.columns("roles").size());
+        Assertions.assertTrue(catalogCache.columns("missing").isEmpty());
+        Assertions.assertEquals("users", catalogCache.table("users").getTableName());
+        Assertions.assertEquals(2, catalogCache.tables().size());
+        // one snapshot answers every lookup
+        verify(tableMapper, times(1)).findAllTables();
+        verify(columnMapper, times(1)).findAllColumns();
+    }
+
+    @Test
+    void invalidate() {
+        given(tableMapper.findAllTables()).willReturn(List.of(table("users")));
+        given(columnMapper.findAllColumns()).willReturn(List.of(column("users", "id")));
+        catalogCache.tables();
+
+        catalogCache.invalidate();
+        catalogCache.tables();
+
+        verify(tableMapper, times(2)).findAllTables();
+    }
+
+    @Test
+    void refresh_table() {
+        given(tableMapper.findAllTables()).willReturn(List.of(table("users"), table("roles")));
+        given(columnMapper.findAllColumns()).willReturn(List.of(column("roles", "name"), column("users", "id")));
+        given(columnMapper.findAllColumnsByName("users")).willReturn(List.of(column("users", "id"),
+                column("users", "email")));
+        catalogCache.tables();
+
+        List<ColumnInfo> columns = catalogCache.refresh("users");
+
+        Assertions.assertEquals(2, columns.size());
+        Assertions.assertEquals(2, catalogCache.columns("users").size());
+        Assertions.assertEquals(1, catalogCache.columns("roles").size());
+        verify(columnMapper, times(1)).findAllColumns();
+    }
+
+    @Test
+    void refresh_tables() {
+        given(tableMapper.findAllTables()).willReturn(List.of(table("users"), table("roles")));
+        given(columnMapper.findAllColumns()).willReturn(List.of(column("roles", "name"), column("users", "id")));
+        given(columnMapper.findAllColumnsByNames(Set.of("users", "roles"))).willReturn(List.of(
+                column("users", "id"), column("users", "email")));
+        catalogCache.tables();
+
+        Map<String, List<ColumnInfo>> columns = catalogCache.refresh(Set.of("users", "roles"));
+
+        Assertions.assertEquals(Set.of("users"), columns.keySet());
+        Assertions.assertEquals(2, catalogCache.columns("users").size());
+        // a table that was dropped is dropped from the snapshot as well
+        Assertions.assertTrue(catalogCache.columns("roles").isEmpty());
+        verify(columnMapper, times(1)).findAllColumns();
+    }
+
+    private static TableInfo table(String name) {
+        TableInfo table = new TableInfo();
+        table.setTableName(name);
+        return table;
+    }
+
+    private static ColumnInfo column(String tableName, String columnName) {
+        ColumnInfo column = new ColumnInfo();
+        column.setTableName(tableName);
+        column.setColumnName(columnName);
+        return column;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.cache;
+
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
+import com.server.starter.exploiter.domain.Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * compiled template cache test
+ **/
+class CompiledTemplateCacheTest {
+
+    private CompiledTemplateCache compiledTemplateCache;
+
+    private Template template;
+
+    @BeforeEach
+    void setUp() {
+        compiledTemplateCache = new CompiledTemplateCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1));
+
+        template = new Template();
+        template.setId(1L);
+        template.setName("%sController.java");
+        template.setContent("class ${name} {}");
+        template.setLastModifiedDate(Instant.parse("2024-10-01T00:00:00Z"));
+    }
+
+    @Test
+    void get() throws Exception {
+        freemarker.template.Template compiled = compiledTemplateCache.get(template);
+
+        Assertions.assertSame(compiled, compiledTemplateCache.get(template));
+        StringWriter writer = new StringWriter();
+        compiled.process(Map.of("name", "User"), writer);
+        Assertions.assertEquals("class User {}", writer.toString());
+    }
+
+    @Test
+    void get_modified() throws Exception {
+        freemarker.template.Template compiled = compiledTemplateCache.get(template);
+
+        template.setContent("interface ${name} {}");
+        template.setLastModifiedDate(Instant.parse("2024-10-02T00:00:00Z"));
+
+        Assertions.assertNotSame(compiled, compiledTemplateCache.get(template));
+    }
+
+    @Test
+    void evict() throws Exception {
+        freemarker.template.Template compiled = compiledTemplateCache.get(template);
+
+        compiledTemplateCache.evict(template.getId());
+
+        Assertions.assertNotSame(compiled, compiledTemplateCache.get(template));
+    }
+
+}
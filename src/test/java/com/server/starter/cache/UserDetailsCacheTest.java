@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.cache;
+
+import com.server.starter.system.cache.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * user details cache test
+ **/
+class UserDetailsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("{noop}123456").authorities("GROUP_ADMIN").build();
+    };
+
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get() {
+        UserDetails first = userDetailsCache.get("test", loader);
+        UserDetails second = userDetailsCache.get("test", loader);
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("GROUP_ADMIN", second.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void get_erased() {
+        // what the authentication manager does to the principal after a sign-in
+        ((CredentialsContainer) userDetailsCache.get("test", loader)).eraseCredentials();
+
+        Assertions.assertEquals("{noop}123456", userDetailsCache.get("test", loader).getPassword());
+    }
+
+    @Test
+    void get_notFound() {
+        Function<String, UserDetails> missing = username -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException(username);
+        };
+
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("test", missing));
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("test", missing));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict() {
+        userDetailsCache.get("test", loader);
+        userDetailsCache.get("other", loader);
+
+        userDetailsCache.evict("test");
+        userDetailsCache.get("test", loader);
+        Assertions.assertEquals(3, loads.get());
+
+        userDetailsCache.evict(List.of("test", "other"));
+        userDetailsCache.get("test", loader);
+        userDetailsCache.get("other", loader);
+        Assertions.assertEquals(5, loads.get());
+    }
+}
@@ -17,6 +17,8 @@
 
 package com.server.starter.controller;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.CountedPage;
 import com.server.starter.system.controller.AccessLogController;
 import com.server.starter.system.service.AccessLogService;
 import com.server.starter.system.vo.AccessLogVO;
@@ -80,7 +82,8 @@ class AccessLogControllerTest {
         Page<AccessLogVO> voPage = new PageImpl<>(List.of(accessLogVO), Mockito.mock(PageRequest.class), 2L);
 
         given(this.accessLogService.retrieve(Mockito.anyInt(), Mockito.anyInt(), eq("id"),
-                Mockito.anyBoolean(), eq("test"))).willReturn(voPage);
+                Mockito.anyBoolean(), eq("test"), Mockito.isNull(), Mockito.isNull(), Mockito.isNull()))
+                .willReturn(voPage);
 
         mvc.perform(get("/access-logs").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("url", "test"))
@@ -90,10 +93,30 @@ class AccessLogControllerTest {
                 .andReturn();
     }
 
+    @Test
+    void retrieve_count() throws Exception {
+        Page<AccessLogVO> voPage = new CountedPage<>(List.of(accessLogVO), PageRequest.of(0, 2), 0L,
+                CountMode.NONE, true);
+
+        given(this.accessLogService.retrieve(Mockito.anyInt(), Mockito.anyInt(), eq("id"),
+                Mockito.anyBoolean(), eq("test"), Mockito.isNull(), Mockito.isNull(), eq(CountMode.NONE)))
+                .willReturn(voPage);
+
+        mvc.perform(get("/access-logs").queryParam("page", "0").queryParam("size", "2")
+                        .queryParam("sortBy", "id").queryParam("url", "test").queryParam("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(-1))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.count").value("NONE"))
+                .andDo(print())
+                .andReturn();
+    }
+
     @Test
     void retrieve_error() throws Exception {
         given(this.accessLogService.retrieve(Mockito.anyInt(), Mockito.anyInt(), eq("id"),
-                Mockito.anyBoolean(), eq("test"))).willThrow(new RuntimeException());
+                Mockito.anyBoolean(), eq("test"), Mockito.isNull(), Mockito.isNull(), Mockito.isNull()))
+                .willThrow(new RuntimeException());
 
         mvc.perform(get("/access-logs").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("url", "test"))
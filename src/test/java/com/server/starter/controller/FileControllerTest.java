@@ -0,0 +1,217 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.controller;
+
+import com.server.starter.file.controller.FileController;
+import com.server.starter.file.service.FileRecordService;
+import com.server.starter.file.vo.FileRecordVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * file controller test
+ *
+ * @author wq li
+ **/
+@WithMockUser
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(FileController.class)
+class FileControllerTest {
+
+    private static final String HASH = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    private static final byte[] BYTES = "hello world".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private FileRecordService fileRecordService;
+
+    private FileRecordVO fileRecordVO;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileRecordVO = new FileRecordVO();
+        fileRecordVO.setId(1L);
+        fileRecordVO.setName("readme.txt");
+        fileRecordVO.setType("text/plain");
+        fileRecordVO.setPath("b9/4d/" + HASH);
+        fileRecordVO.setHash(HASH);
+        fileRecordVO.setSize(BYTES.length);
+        fileRecordVO.setLastModifiedDate(Instant.parse("2024-10-01T00:00:00Z"));
+
+        doAnswer(invocation -> {
+            long position = invocation.getArgument(1);
+            long count = invocation.getArgument(2);
+            WritableByteChannel target = invocation.getArgument(3);
+            target.write(ByteBuffer.wrap(BYTES, (int) position, (int) count));
+            return null;
+        }).when(fileRecordService).transfer(eq(fileRecordVO.getPath()), Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any(WritableByteChannel.class));
+    }
+
+    @Test
+    void content() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        mvc.perform(get("/files/{id}/content", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BYTES.length))
+                .andExpect(MockMvcResultMatchers.content().bytes(BYTES))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void content_range() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.RANGE, "bytes=6-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-10/11"))
+                .andExpect(MockMvcResultMatchers.content().string("world"))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void content_sendfile() throws Exception {
+        Path file = Path.of("data", "files", fileRecordVO.getPath()).toAbsolutePath();
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+        given(this.fileRecordService.file(fileRecordVO.getPath())).willReturn(file);
+
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.RANGE, "bytes=6-")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", file.toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 6L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 11L))
+                .andDo(print())
+                .andReturn();
+
+        verify(this.fileRecordService, never()).transfer(Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any(WritableByteChannel.class));
+    }
+
+    @Test
+    void content_range_stale() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.RANGE, "bytes=6-")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().bytes(BYTES))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void content_range_unsatisfiable() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */11"))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void content_not_modified() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andDo(print())
+                .andReturn();
+
+        verify(this.fileRecordService, never()).transfer(Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.any(WritableByteChannel.class));
+    }
+
+    @Test
+    void content_not_modified_since() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(fileRecordVO);
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(fileRecordVO.getLastModifiedDate()
+                .atOffset(ZoneOffset.UTC));
+        mvc.perform(get("/files/{id}/content", 1L).header(HttpHeaders.IF_MODIFIED_SINCE, date))
+                .andExpect(status().isNotModified())
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void content_not_found() throws Exception {
+        given(this.fileRecordService.fetch(Mockito.anyLong())).willReturn(null);
+
+        mvc.perform(get("/files/{id}/content", 1L))
+                .andExpect(status().isNotFound())
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void upload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "readme.txt", "text/plain", BYTES);
+        given(this.fileRecordService.upload(Mockito.any())).willReturn(fileRecordVO);
+
+        mvc.perform(multipart("/files/upload").file(file).with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.hash").value(HASH))
+                .andDo(print())
+                .andReturn();
+    }
+
+}
@@ -89,7 +89,7 @@ class MessageControllerTest {
         Page<MessageVO> voPage = new PageImpl<>(List.of(messageVO), Mockito.mock(PageRequest.class), 2L);
 
         given(this.messageService.retrieve(Mockito.anyInt(), Mockito.anyInt(), eq("id"),
-                Mockito.anyBoolean(), eq("test"))).willReturn(voPage);
+                Mockito.anyBoolean(), eq("test"), Mockito.isNull())).willReturn(voPage);
 
         mvc.perform(get("/messages").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("name", "test"))
@@ -102,7 +102,7 @@ class MessageControllerTest {
     @Test
     void retrieve_error() throws Exception {
         given(this.messageService.retrieve(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyString(),
-                Mockito.anyBoolean(), Mockito.anyString())).willThrow(new RuntimeException());
+                Mockito.anyBoolean(), Mockito.anyString(), Mockito.isNull())).willThrow(new RuntimeException());
 
         mvc.perform(get("/messages").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("name", "test"))
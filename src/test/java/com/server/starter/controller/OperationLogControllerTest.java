@@ -84,7 +84,8 @@ class OperationLogControllerTest {
         Page<OperationLogVO> voPage = new PageImpl<>(List.of(operationLogVO), Mockito.mock(PageRequest.class), 2L);
 
         given(this.operationLogService.retrieve(Mockito.anyInt(), Mockito.anyInt(), eq("id"),
-                Mockito.anyBoolean(), eq("test"))).willReturn(voPage);
+                Mockito.anyBoolean(), eq("test"), Mockito.isNull(), Mockito.isNull(), Mockito.isNull()))
+                .willReturn(voPage);
 
         mvc.perform(get("/operation-logs").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("name", "test"))
@@ -97,7 +98,8 @@ class OperationLogControllerTest {
     @Test
     void retrieve_error() throws Exception {
         given(this.operationLogService.retrieve(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyString(),
-                Mockito.anyBoolean(), Mockito.anyString())).willThrow(new RuntimeException());
+                Mockito.anyBoolean(), Mockito.anyString(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull()))
+                .willThrow(new RuntimeException());
 
         mvc.perform(get("/operation-logs").queryParam("page", "0").queryParam("size", "2")
                         .queryParam("sortBy", "id").queryParam("name", "test"))
@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.server.starter.file.controller.UploadSessionController;
+import com.server.starter.file.dto.UploadSessionDTO;
+import com.server.starter.file.service.UploadSessionService;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.file.vo.UploadSessionVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * upload session controller test
+ *
+ * @author wq li
+ **/
+@WithMockUser
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(UploadSessionController.class)
+class UploadSessionControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private UploadSessionService uploadSessionService;
+
+    private UploadSessionVO uploadSessionVO;
+
+    @BeforeEach
+    void setUp() {
+        uploadSessionVO = new UploadSessionVO();
+        uploadSessionVO.setId(1L);
+        uploadSessionVO.setName("readme.txt");
+        uploadSessionVO.setSize(19);
+        uploadSessionVO.setChunkSize(4);
+        uploadSessionVO.setChunkCount(5);
+        uploadSessionVO.setMissing(List.of(1, 3));
+    }
+
+    @Test
+    void initiate() throws Exception {
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setName("readme.txt");
+        dto.setSize(19);
+        given(this.uploadSessionService.initiate(Mockito.any(UploadSessionDTO.class))).willReturn(uploadSessionVO);
+
+        mvc.perform(post("/files/uploads").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(dto)).with(csrf().asHeader()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chunkCount").value(5))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void fetch() throws Exception {
+        given(this.uploadSessionService.fetch(1L, "user")).willReturn(uploadSessionVO);
+
+        mvc.perform(get("/files/uploads/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missing[1]").value(3))
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void write() throws Exception {
+        mvc.perform(put("/files/uploads/{id}/chunks/{index}", 1L, 3)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(new byte[]{1, 2, 3, 4})
+                        .header(UploadSessionController.CHUNK_CHECKSUM, "e3069283").with(csrf().asHeader()))
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andReturn();
+
+        verify(this.uploadSessionService).write(eq(1L), eq(3), Mockito.any(ReadableByteChannel.class),
+                eq(0xe3069283L), eq("user"));
+    }
+
+    @Test
+    void write_error() throws Exception {
+        doThrow(new IllegalArgumentException()).when(this.uploadSessionService).write(eq(1L), eq(3),
+                Mockito.any(ReadableByteChannel.class), Mockito.anyLong(), Mockito.anyString());
+
+        mvc.perform(put("/files/uploads/{id}/chunks/{index}", 1L, 3)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(new byte[]{1, 2, 3, 4})
+                        .header(UploadSessionController.CHUNK_CHECKSUM, "0").with(csrf().asHeader()))
+                .andExpect(status().isExpectationFailed())
+                .andDo(print())
+                .andReturn();
+    }
+
+    @Test
+    void complete() throws Exception {
+        FileRecordVO fileRecordVO = new FileRecordVO();
+        fileRecordVO.setName("readme.txt");
+        given(this.uploadSessionService.complete(1L, "user")).willReturn(fileRecordVO);
+
+        mvc.perform(post("/files/uploads/{id}/complete", 1L).with(csrf().asHeader()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("readme.txt"))
+                .andDo(print())
+                .andReturn();
+    }
+
+}
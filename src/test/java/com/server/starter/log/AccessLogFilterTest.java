@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.log;
+
+import com.server.starter.config.AccessLogConfiguration;
+import com.server.starter.system.controller.AccessLogController;
+import com.server.starter.system.domain.AccessLog;
+import com.server.starter.system.log.AccessLogWriter;
+import com.server.starter.system.service.AccessLogService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * access log filter test
+ **/
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(AccessLogController.class)
+@Import(AccessLogConfiguration.class)
+class AccessLogFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private AccessLogService accessLogService;
+
+    @MockBean
+    private AccessLogWriter accessLogWriter;
+
+    @Test
+    void unauthorized() throws Exception {
+        mvc.perform(get("/access-logs/{id}", 1L).queryParam("a", "b"))
+                .andExpect(status().isUnauthorized());
+
+        AccessLog accessLog = captured();
+        Assertions.assertEquals(401, accessLog.getStatusCode());
+        Assertions.assertEquals("/access-logs/1", accessLog.getUrl());
+        Assertions.assertEquals("a=b", accessLog.getParams());
+        Assertions.assertTrue(accessLog.getCreatedBy().isEmpty());
+    }
+
+    @WithMockUser("test")
+    @Test
+    void authorized() throws Exception {
+        mvc.perform(get("/access-logs/{id}", 1L))
+                .andExpect(status().isOk());
+
+        AccessLog accessLog = captured();
+        Assertions.assertEquals(200, accessLog.getStatusCode());
+        Assertions.assertEquals("test", accessLog.getCreatedBy().orElse(null));
+    }
+
+    private AccessLog captured() {
+        ArgumentCaptor<AccessLog> captor = ArgumentCaptor.forClass(AccessLog.class);
+        verify(accessLogWriter).offer(captor.capture());
+        return captor.getValue();
+    }
+}
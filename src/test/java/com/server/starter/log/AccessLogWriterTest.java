@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.log;
+
+import com.server.starter.system.domain.AccessLog;
+import com.server.starter.system.log.AccessLogWriter;
+import com.server.starter.system.log.BatchLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+
+/**
+ * access log writer test
+ **/
+@ExtendWith(MockitoExtension.class)
+class AccessLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void write() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(jdbcTemplate, meterRegistry, 10, 10, Duration.ofMinutes(1),
+                BatchLogWriter.Overflow.DROP);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(writer.offer(accessLog()));
+        }
+        Assertions.assertEquals(3, meterRegistry.get("logs.pending").gauge().value());
+
+        // the batch is reused once written, so record its size while it is being written
+        List<Integer> sizes = new ArrayList<>();
+        given(jdbcTemplate.batchUpdate(Mockito.anyString(), Mockito.anyCollection(), Mockito.anyInt(),
+                Mockito.any(ParameterizedPreparedStatementSetter.class))).willAnswer(invocation -> {
+            sizes.add(invocation.<Collection<AccessLog>>getArgument(1).size());
+            return new int[0][];
+        });
+
+        writer.start();
+        writer.stop();
+
+        // the queued logs are written as one batch when stopping
+        Assertions.assertEquals(List.of(3), sizes);
+        Assertions.assertEquals(0, meterRegistry.get("logs.pending").gauge().value());
+    }
+
+    @Test
+    void offer_drop() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(jdbcTemplate, meterRegistry, 1, 10, Duration.ofMinutes(1),
+                BatchLogWriter.Overflow.DROP);
+
+        Assertions.assertTrue(writer.offer(accessLog()));
+        Assertions.assertFalse(writer.offer(accessLog()));
+        Assertions.assertEquals(1, meterRegistry.get("logs.dropped").counter().count());
+    }
+
+    @Test
+    void phase() {
+        AccessLogWriter writer = new AccessLogWriter(jdbcTemplate, new SimpleMeterRegistry(), 1, 10,
+                Duration.ofMinutes(1), BatchLogWriter.Overflow.DROP);
+
+        // stopped after the web server has drained its requests and stopped
+        Assertions.assertTrue(writer.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    private static AccessLog accessLog() {
+        AccessLog accessLog = new AccessLog();
+        accessLog.setUrl("/test");
+        accessLog.setHttpMethod("GET");
+        accessLog.setIp("127.0.0.1");
+        accessLog.setStatusCode(200);
+        accessLog.setResponseTimes(1L);
+        return accessLog;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.log;
+
+import com.server.starter.system.log.LogPartitionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * log partition manager test
+ **/
+@ExtendWith(MockitoExtension.class)
+class LogPartitionManagerTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void maintain() {
+        YearMonth current = YearMonth.now();
+        String expired = "access_logs_p" + current.minusMonths(7).format(SUFFIX);
+        String kept = "access_logs_p" + current.minusMonths(6).format(SUFFIX);
+        given(jdbcTemplate.queryForList(Mockito.anyString(), eq(String.class), eq("access_logs")))
+                .willReturn(List.of(expired, kept));
+
+        new LogPartitionManager(jdbcTemplate, 2, 6, LogPartitionManager.Expiry.DROP).maintain();
+
+        verify(jdbcTemplate, times(1)).execute("CREATE TABLE IF NOT EXISTS access_logs_p" + current.format(SUFFIX)
+                + " PARTITION OF access_logs FOR VALUES FROM ('" + current.atDay(1) + "') TO ('"
+                + current.plusMonths(1).atDay(1) + "')");
+        verify(jdbcTemplate, times(1)).execute(Mockito.startsWith("CREATE TABLE IF NOT EXISTS operation_logs_p"
+                + current.plusMonths(2).format(SUFFIX)));
+        verify(jdbcTemplate, times(1)).execute("DROP TABLE " + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + kept);
+    }
+
+    @Test
+    void maintain_detach() {
+        String expired = "operation_logs_p" + YearMonth.now().minusMonths(12).format(SUFFIX);
+        given(jdbcTemplate.queryForList(Mockito.anyString(), eq(String.class), Mockito.anyString()))
+                .willReturn(List.of());
+        given(jdbcTemplate.queryForList(Mockito.anyString(), eq(String.class), eq("operation_logs")))
+                .willReturn(List.of(expired));
+
+        new LogPartitionManager(jdbcTemplate, 1, 6, LogPartitionManager.Expiry.DETACH).maintain();
+
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE operation_logs DETACH PARTITION " + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + expired);
+    }
+
+    @Test
+    void premake_current_only() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LogPartitionManager(jdbcTemplate, 0, 6, LogPartitionManager.Expiry.DROP));
+    }
+
+}
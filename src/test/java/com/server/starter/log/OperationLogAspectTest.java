@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.log;
+
+import com.server.starter.system.domain.OperationLog;
+import com.server.starter.system.log.Operation;
+import com.server.starter.system.log.OperationLogAspect;
+import com.server.starter.system.log.OperationLogWriter;
+import com.server.starter.system.log.UserAgentParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.mockito.Mockito.verify;
+
+/**
+ * operation log aspect test
+ **/
+@ExtendWith(MockitoExtension.class)
+class OperationLogAspectTest {
+
+    @Mock
+    private OperationLogWriter operationLogWriter;
+
+    private RoleEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new RoleEndpoint());
+        factory.addAspect(new OperationLogAspect(operationLogWriter, new UserAgentParser()));
+        endpoint = factory.getProxy();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        request.setRemoteUser("test");
+        request.addHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64; rv:131.0) Gecko/20100101 Firefox/131.0");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void record() {
+        endpoint.relation();
+
+        ArgumentCaptor<OperationLog> captor = ArgumentCaptor.forClass(OperationLog.class);
+        verify(operationLogWriter).offer(captor.capture());
+        OperationLog operationLog = captor.getValue();
+        Assertions.assertEquals("Relate role privileges", operationLog.getOperation());
+        Assertions.assertEquals("RoleEndpoint#relation", operationLog.getContent());
+        Assertions.assertEquals(202, operationLog.getStatusCode());
+        Assertions.assertEquals("Linux", operationLog.getOs());
+        Assertions.assertEquals("Firefox", operationLog.getBrowser());
+        Assertions.assertEquals("127.0.0.1", operationLog.getIp());
+        Assertions.assertEquals("test", operationLog.getCreatedBy().orElse(null));
+        Assertions.assertNotNull(operationLog.getOperatedTime());
+    }
+
+    @Test
+    void record_error() {
+        Assertions.assertThrows(IllegalStateException.class, () -> endpoint.remove());
+
+        ArgumentCaptor<OperationLog> captor = ArgumentCaptor.forClass(OperationLog.class);
+        verify(operationLogWriter).offer(captor.capture());
+        Assertions.assertEquals(500, captor.getValue().getStatusCode());
+    }
+
+    static class RoleEndpoint {
+
+        @Operation("Relate role privileges")
+        public ResponseEntity<Void> relation() {
+            return ResponseEntity.accepted().build();
+        }
+
+        @Operation("Remove role")
+        public ResponseEntity<Void> remove() {
+            throw new IllegalStateException("test");
+        }
+    }
+
+}
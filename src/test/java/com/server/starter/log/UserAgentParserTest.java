@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.log;
+
+import com.server.starter.system.log.UserAgentParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * user agent parser test
+ **/
+class UserAgentParserTest {
+
+    private final UserAgentParser userAgentParser = new UserAgentParser();
+
+    @Test
+    void parse_chrome() {
+        UserAgentParser.UserAgent userAgent = userAgentParser.parse("Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+                "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/129.0.0.0 Safari/537.36");
+
+        Assertions.assertEquals("Desktop", userAgent.deviceType());
+        Assertions.assertEquals("Windows", userAgent.os());
+        Assertions.assertEquals("Chrome", userAgent.browser());
+    }
+
+    @Test
+    void parse_iphone() {
+        UserAgentParser.UserAgent userAgent = userAgentParser.parse("Mozilla/5.0 (iPhone; CPU iPhone OS 17_6 like " +
+                "Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.6 Mobile/15E148 Safari/604.1");
+
+        Assertions.assertEquals("Mobile", userAgent.deviceType());
+        Assertions.assertEquals("iOS", userAgent.os());
+        Assertions.assertEquals("Safari", userAgent.browser());
+    }
+
+    @Test
+    void parse_edge() {
+        UserAgentParser.UserAgent userAgent = userAgentParser.parse("Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) " +
+                "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/129.0.0.0 Safari/537.36 Edg/129.0.0.0");
+
+        Assertions.assertEquals("macOS", userAgent.os());
+        Assertions.assertEquals("Edge", userAgent.browser());
+    }
+
+    @Test
+    void parse_empty() {
+        UserAgentParser.UserAgent userAgent = userAgentParser.parse(null);
+
+        Assertions.assertEquals("Unknown", userAgent.os());
+        Assertions.assertEquals("Unknown", userAgent.browser());
+    }
+
+}
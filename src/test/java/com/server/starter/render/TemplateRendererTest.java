@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.render;
+
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
+import com.server.starter.exploiter.domain.Template;
+import com.server.starter.exploiter.render.TemplateRenderer;
+import freemarker.template.TemplateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * template renderer test
+ **/
+class TemplateRendererTest {
+
+    private TemplateRenderer templateRenderer;
+
+    @BeforeEach
+    void setUp() {
+        templateRenderer = new TemplateRenderer(new CompiledTemplateCache(new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1)), 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        templateRenderer.destroy();
+    }
+
+    @Test
+    void render() throws Exception {
+        List<Template> templates = new ArrayList<>();
+        for (long i = 1; i <= 30; i++) {
+            templates.add(template(i, "${name}" + i));
+        }
+        List<String> rendered = new ArrayList<>();
+
+        templateRenderer.render(templates, Map.of("name", "user"), (template, content) -> rendered.add(content));
+
+        Assertions.assertEquals(30, rendered.size());
+        for (int i = 0; i < rendered.size(); i++) {
+            Assertions.assertEquals("user" + (i + 1), rendered.get(i));
+        }
+    }
+
+    @Test
+    void render_error() {
+        List<Template> templates = List.of(template(1L, "${name}"), template(2L, "${missing}"));
+
+        Assertions.assertThrows(TemplateException.class,
+                () -> templateRenderer.render(templates, Map.of("name", "user"), (template, content) -> {
+                }));
+    }
+
+    private static Template template(Long id, String content) {
+        Template template = new Template();
+        template.setId(id);
+        template.setName("template" + id);
+        template.setContent(content);
+        return template;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.security;
+
+import com.server.starter.system.security.CachingJwtAuthenticationConverter;
+import com.server.starter.system.security.CachingJwtDecoder;
+import com.server.starter.system.security.TokenRevocationList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * caching jwt decoder test
+ **/
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private TokenRevocationList tokenRevocationList;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList(meterRegistry);
+        jwtDecoder = new CachingJwtDecoder(delegate, tokenRevocationList, meterRegistry, 10, Duration.ofHours(1));
+    }
+
+    @Test
+    void decode() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        given(delegate.decode("token")).willReturn(jwt);
+
+        Assertions.assertSame(jwt, jwtDecoder.decode("token"));
+        Assertions.assertSame(jwt, jwtDecoder.decode("token"));
+
+        verify(delegate).decode("token");
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void decode_invalid() {
+        given(delegate.decode("token")).willThrow(new BadJwtException("invalid"));
+
+        Assertions.assertThrows(BadJwtException.class, () -> jwtDecoder.decode("token"));
+        Assertions.assertThrows(BadJwtException.class, () -> jwtDecoder.decode("token"));
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void decode_expired() {
+        given(delegate.decode("token")).willReturn(jwt("token", Instant.now().minusSeconds(1)));
+
+        jwtDecoder.decode("token");
+        jwtDecoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void decode_revoked() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        given(delegate.decode("token")).willReturn(jwt);
+        jwtDecoder.decode("token");
+
+        tokenRevocationList.revoke(jwt);
+
+        Assertions.assertThrows(BadJwtException.class, () -> jwtDecoder.decode("token"));
+        Assertions.assertEquals(1, meterRegistry.get("tokens.rejected.revoked").counter().count());
+    }
+
+    @Test
+    void convert() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        AtomicInteger conversions = new AtomicInteger();
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        CachingJwtAuthenticationConverter converter = new CachingJwtAuthenticationConverter(token -> {
+            conversions.incrementAndGet();
+            return authoritiesConverter.convert(token);
+        });
+
+        AbstractAuthenticationToken first = converter.convert(jwt);
+        AbstractAuthenticationToken second = converter.convert(jwt);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, conversions.get());
+        Assertions.assertEquals(first.getAuthorities(), second.getAuthorities());
+        Assertions.assertEquals(List.of("SCOPE_files:read", "SCOPE_files:write"),
+                first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        Assertions.assertEquals("test", first.getName());
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .jti(token + "-id")
+                .subject("test")
+                .claim("scope", "files:read files:write")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.server.starter.security;
+
+import com.server.starter.system.cache.UserDetailsCache;
+import com.server.starter.system.repository.UserRepository;
+import com.server.starter.system.security.CachedUserDetailsService;
+import com.server.starter.system.security.TunablePasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * tunable password encoder test
+ **/
+@ExtendWith(MockitoExtension.class)
+class TunablePasswordEncoderTest {
+
+    @Mock
+    private UserDetailsService delegate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TunablePasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = new TunablePasswordEncoder(new SimpleMeterRegistry(), TunablePasswordEncoder.BCRYPT,
+                4, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void encode() {
+        String encoded = passwordEncoder.encode("123456");
+
+        Assertions.assertTrue(encoded.startsWith("{bcrypt}$2a$04$"));
+        Assertions.assertTrue(passwordEncoder.matches("123456", encoded));
+        Assertions.assertFalse(passwordEncoder.matches("654321", encoded));
+        Assertions.assertTrue(passwordEncoder.matches("123456", "{noop}123456"));
+    }
+
+    @Test
+    void upgradeEncoding() {
+        String encoded = passwordEncoder.encode("123456");
+        Assertions.assertFalse(passwordEncoder.upgradeEncoding(encoded));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding("{noop}123456"));
+
+        passwordEncoder.tune(new TunablePasswordEncoder.Settings(TunablePasswordEncoder.BCRYPT, 5));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(encoded));
+
+        // lowered again, hashes made with the higher strength are rehashed as well
+        String stronger = passwordEncoder.encode("123456");
+        passwordEncoder.tune(new TunablePasswordEncoder.Settings(TunablePasswordEncoder.BCRYPT, 4));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(stronger));
+        Assertions.assertTrue(passwordEncoder.matches("123456", stronger));
+
+        passwordEncoder.tune(new TunablePasswordEncoder.Settings(TunablePasswordEncoder.PBKDF2, 4));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(encoded));
+        Assertions.assertFalse(passwordEncoder.upgradeEncoding(passwordEncoder.encode("123456")));
+    }
+
+    @Test
+    void tune_invalid() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> passwordEncoder.tune(new TunablePasswordEncoder.Settings("noop", 10)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> passwordEncoder.tune(new TunablePasswordEncoder.Settings(TunablePasswordEncoder.BCRYPT, 3)));
+        Assertions.assertEquals(4, passwordEncoder.getSettings().strength());
+    }
+
+    @Test
+    void signin_rehash() {
+        given(this.delegate.loadUserByUsername("test"))
+                .willReturn(User.withUsername("test").password("{noop}123456").authorities("GROUP_ADMIN").build());
+        CachedUserDetailsService userDetailsService = new CachedUserDetailsService(delegate,
+                new UserDetailsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)), userRepository);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test", "123456"));
+        verify(this.userRepository).updatePasswordByUsername(eq("test"), startsWith("{bcrypt}$2a$04$"));
+
+        // the stored password changed, the next sign-in loads the user again
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test", "123456"));
+        verify(this.delegate, Mockito.times(2)).loadUserByUsername("test");
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.exploiter.domain.Template;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * excel export template test
+ **/
+@ExtendWith(MockitoExtension.class)
+class ExcelExportTemplateTest {
+
+    @Mock
+    private KeysetTemplate keysetTemplate;
+
+    private ExcelExportTemplate excelExportTemplate;
+
+    @BeforeEach
+    void setUp() {
+        excelExportTemplate = new ExcelExportTemplate(keysetTemplate, 2, 1);
+    }
+
+    @Test
+    void export() throws Exception {
+        Criteria criteria = Criteria.where("id").in(1L, 2L, 3L);
+        given(keysetTemplate.scroll(eq(Template.class), eq(criteria), isNull(), eq(2), isNull(), eq(false)))
+                .willReturn(new KeysetSlice<>(templates(1, 2), PageRequest.of(0, 2), "next"));
+        given(keysetTemplate.scroll(eq(Template.class), eq(criteria), eq("next"), eq(2), isNull(), eq(false)))
+                .willReturn(new KeysetSlice<>(templates(3, 1), PageRequest.of(0, 2), null));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        long count = excelExportTemplate.export(Template.class, criteria,
+                template -> new Line(template.getName(), template.getContent()), os);
+
+        Assertions.assertEquals(3, count);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(os.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Assertions.assertEquals(List.of("name", "content"), values(sheet.getRow(0)));
+            Assertions.assertEquals(List.of("template_1", "content of 1"), values(sheet.getRow(1)));
+            Assertions.assertEquals(List.of("template_3", "content of 3"), values(sheet.getRow(3)));
+            Assertions.assertEquals(3, sheet.getLastRowNum());
+        }
+    }
+
+    @Test
+    void export_long_text() throws Exception {
+        Template template = new Template();
+        template.setName("large");
+        template.setContent("x".repeat(SpreadsheetVersion.EXCEL2007.getMaxTextLength() + 10));
+        given(keysetTemplate.scroll(eq(Template.class), eq(Criteria.empty()), isNull(), eq(2), isNull(), eq(false)))
+                .willReturn(new KeysetSlice<>(List.of(template), PageRequest.of(0, 2), null));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        excelExportTemplate.export(Template.class, Criteria.empty(),
+                row -> new Line(row.getName(), row.getContent()), os);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(os.toByteArray()))) {
+            Assertions.assertEquals(SpreadsheetVersion.EXCEL2007.getMaxTextLength(),
+                    workbook.getSheetAt(0).getRow(1).getCell(1).getStringCellValue().length());
+        }
+    }
+
+    private static List<Template> templates(int from, int count) {
+        List<Template> templates = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            Template template = new Template();
+            template.setId((long) i);
+            template.setName("template_" + i);
+            template.setContent("content of " + i);
+            templates.add(template);
+        }
+        return templates;
+    }
+
+    private static List<String> values(Row row) {
+        List<String> values = new ArrayList<>();
+        row.forEach(cell -> values.add(cell.getStringCellValue()));
+        return values;
+    }
+
+    public static class Line {
+
+        private final String name;
+        private final String content;
+
+        Line(String name, String content) {
+            this.name = name;
+            this.content = content;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+}
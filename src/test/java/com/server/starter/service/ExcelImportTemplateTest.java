@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.server.starter.domain.ImportResult;
+import com.server.starter.exploiter.dto.SchemaDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * excel import template test
+ **/
+class ExcelImportTemplateTest {
+
+    private ValidatorFactory validatorFactory;
+
+    private ExcelImportTemplate excelImportTemplate;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        excelImportTemplate = new ExcelImportTemplate(validatorFactory.getValidator(),
+                TransactionOperations.withoutTransaction(), 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void read() throws Exception {
+        byte[] workbook = workbook(
+                new Object[]{"name", "reference", "domain", "templates"},
+                new Object[]{"users", "system", "User", "1,2"},
+                new Object[]{"roles", "system", "Role", null},
+                new Object[]{},
+                new Object[]{"groups", "system", "Group", 3});
+        List<List<SchemaDTO>> batches = new ArrayList<>();
+
+        ImportResult result = excelImportTemplate.read(new ByteArrayInputStream(workbook), SchemaDTO.class,
+                batches::add);
+
+        Assertions.assertEquals(3, result.getTotal());
+        Assertions.assertEquals(3, result.getImported());
+        Assertions.assertTrue(result.getErrors().isEmpty());
+        Assertions.assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        SchemaDTO users = batches.get(0).get(0);
+        Assertions.assertEquals("users", users.getName());
+        Assertions.assertEquals(Set.of(1L, 2L), users.getTemplates());
+        Assertions.assertEquals(Set.of(3L), batches.get(1).get(0).getTemplates());
+    }
+
+    @Test
+    void read_errors() throws Exception {
+        byte[] workbook = workbook(
+                new Object[]{"name", "reference", "domain"},
+                new Object[]{"users", null, "User"},
+                new Object[]{"roles", "system", "Role"},
+                new Object[]{"groups", "system", "Group"},
+                new Object[]{"posts", "system", "Post"});
+        List<List<SchemaDTO>> batches = new ArrayList<>();
+
+        ImportResult result = excelImportTemplate.read(new ByteArrayInputStream(workbook), SchemaDTO.class,
+                dtoList -> {
+                    if (dtoList.stream().anyMatch(dto -> "posts".equals(dto.getName()))) {
+                        throw new IllegalStateException("duplicate key");
+                    }
+                    batches.add(dtoList);
+                });
+
+        Assertions.assertEquals(4, result.getTotal());
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertEquals(2, result.getFailed());
+        Assertions.assertEquals(List.of(new ImportResult.RowError(2, "reference must not be blank"),
+                new ImportResult.RowError(5, "duplicate key")), result.getErrors());
+        Assertions.assertEquals(1, batches.size());
+    }
+
+    @Test
+    void read_rejected_row() throws Exception {
+        byte[] workbook = workbook(
+                new Object[]{"name", "reference", "domain"},
+                new Object[]{"users", "system", "User"},
+                new Object[]{"roles", "system", "Role"},
+                new Object[]{"posts", "system", "Post"},
+                new Object[]{"groups", "system", "Group"},
+                new Object[]{"menus", "system", "Menu"});
+        List<String> written = new ArrayList<>();
+        ExcelImportTemplate template = new ExcelImportTemplate(validatorFactory.getValidator(),
+                TransactionOperations.withoutTransaction(), 10, 10);
+
+        ImportResult result = template.read(new ByteArrayInputStream(workbook), SchemaDTO.class, dtoList -> {
+            // a unique constraint rejects the whole batch
+            if (dtoList.stream().anyMatch(dto -> "posts".equals(dto.getName()))) {
+                throw new IllegalStateException("duplicate key");
+            }
+            dtoList.forEach(dto -> written.add(dto.getName()));
+        });
+
+        Assertions.assertEquals(5, result.getTotal());
+        Assertions.assertEquals(4, result.getImported());
+        Assertions.assertEquals(1, result.getFailed());
+        Assertions.assertEquals(List.of(new ImportResult.RowError(4, "duplicate key")), result.getErrors());
+        Assertions.assertEquals(List.of("users", "roles", "groups", "menus"), written);
+    }
+
+    @Test
+    void read_invalid() {
+        Assertions.assertThrows(IOException.class, () -> excelImportTemplate.read(
+                new ByteArrayInputStream(new byte[]{1, 2, 3}), SchemaDTO.class, dtoList -> {
+                }));
+    }
+
+    private static byte[] workbook(Object[]... rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i);
+                for (int j = 0; j < rows[i].length; j++) {
+                    if (rows[i][j] instanceof Number number) {
+                        row.createCell(j).setCellValue(number.doubleValue());
+                    } else if (rows[i][j] != null) {
+                        row.createCell(j).setCellValue(String.valueOf(rows[i][j]));
+                    }
+                }
+            }
+            workbook.write(os);
+            return os.toByteArray();
+        }
+    }
+
+}
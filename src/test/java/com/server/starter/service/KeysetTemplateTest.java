@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.server.starter.domain.KeysetSlice;
+import com.server.starter.system.domain.AccessLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.jdbc.core.mapping.JdbcMappingContext;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.data.relational.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * keyset template test
+ **/
+@ExtendWith(MockitoExtension.class)
+class KeysetTemplateTest {
+
+    @Mock
+    private JdbcAggregateOperations jdbcAggregateOperations;
+
+    private KeysetTemplate keysetTemplate;
+
+    @BeforeEach
+    void setUp() {
+        keysetTemplate = new KeysetTemplate(jdbcAggregateOperations, new JdbcMappingContext());
+    }
+
+    @Test
+    void scroll() {
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class)))
+                .willReturn(logs(1, 3));
+
+        KeysetSlice<AccessLog> slice = keysetTemplate.scroll(AccessLog.class, Criteria.empty(), null, 2,
+                "createdDate", true);
+
+        Assertions.assertEquals(2, slice.getContent().size());
+        Assertions.assertTrue(slice.hasNext());
+        Assertions.assertNotNull(slice.getNext());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(jdbcAggregateOperations).findAll(captor.capture(), eq(AccessLog.class));
+        Assertions.assertEquals(3, captor.getValue().getLimit());
+        Assertions.assertEquals(Sort.by(Sort.Direction.DESC, "createdDate", "id"), captor.getValue().getSort());
+        Assertions.assertTrue(captor.getValue().getCriteria().map(CriteriaDefinition::isEmpty).orElse(true));
+    }
+
+    @Test
+    void scroll_after() {
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class)))
+                .willReturn(logs(1, 3), logs(3, 1));
+        KeysetSlice<AccessLog> first = keysetTemplate.scroll(AccessLog.class, Criteria.empty(), null, 2, "createdDate",
+                false);
+
+        KeysetSlice<AccessLog> second = keysetTemplate.scroll(AccessLog.class, Criteria.empty(), first.getNext(), 2,
+                "createdDate", false);
+
+        Assertions.assertEquals(1, second.getContent().size());
+        Assertions.assertFalse(second.hasNext());
+        Assertions.assertNull(second.getNext());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(jdbcAggregateOperations, Mockito.times(2)).findAll(captor.capture(), eq(AccessLog.class));
+        String criteria = captor.getAllValues().get(1).getCriteria().orElseThrow().toString();
+        Assertions.assertTrue(criteria.contains("createdDate > '2024-01-02T00:00:00Z'"), criteria);
+        Assertions.assertTrue(criteria.contains("id > 2"), criteria);
+    }
+
+    @Test
+    void scroll_mismatch() {
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class)))
+                .willReturn(logs(1, 3));
+        String next = keysetTemplate.scroll(AccessLog.class, Criteria.empty(), null, 2, "createdDate", false)
+                .getNext();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> keysetTemplate.scroll(AccessLog.class, Criteria.empty(), next, 2, "createdDate", true));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> keysetTemplate.scroll(AccessLog.class, Criteria.empty(), "not a cursor", 2, null, false));
+    }
+
+    @Test
+    void scroll_unknown_property() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> keysetTemplate.scroll(AccessLog.class, Criteria.empty(), null, 2, "unknown", false));
+    }
+
+    private static List<AccessLog> logs(long from, int count) {
+        List<AccessLog> logs = new ArrayList<>(count);
+        for (long id = from; id < from + count; id++) {
+            AccessLog accessLog = new AccessLog();
+            accessLog.setId(id);
+            accessLog.setCreatedDate(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(86400 * (id - 1)));
+            logs.add(accessLog);
+        }
+        return logs;
+    }
+
+}
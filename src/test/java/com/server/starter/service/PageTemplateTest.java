@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service;
+
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.CountedPage;
+import com.server.starter.system.domain.AccessLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.jdbc.core.mapping.JdbcMappingContext;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * page template test
+ **/
+@ExtendWith(MockitoExtension.class)
+class PageTemplateTest {
+
+    @Mock
+    private JdbcAggregateOperations jdbcAggregateOperations;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PageTemplate pageTemplate;
+
+    @BeforeEach
+    void setUp() {
+        pageTemplate = new PageTemplate(jdbcAggregateOperations, new JdbcMappingContext(), jdbcTemplate,
+                new SimpleMeterRegistry(), 1000L, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void page_exact() {
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(logs(2));
+        given(jdbcAggregateOperations.count(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(5L);
+
+        CountedPage<AccessLog> page = pageTemplate.page(AccessLog.class, Criteria.empty(), PageRequest.of(0, 2),
+                null);
+
+        Assertions.assertEquals(CountMode.EXACT, page.getCount());
+        Assertions.assertEquals(5L, page.getTotalElements());
+        Assertions.assertTrue(page.hasNext());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void page_none() {
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(logs(3));
+
+        CountedPage<AccessLog> page = pageTemplate.page(AccessLog.class, Criteria.empty(), PageRequest.of(1, 2),
+                CountMode.NONE);
+
+        Assertions.assertEquals(2, page.getContent().size());
+        Assertions.assertEquals(-1L, page.getTotalElements());
+        Assertions.assertEquals(-1, page.getTotalPages());
+        Assertions.assertTrue(page.hasNext());
+        Assertions.assertFalse(page.map(AccessLog::getId).isLast());
+        verify(jdbcAggregateOperations, never()).count(Mockito.any(Query.class), eq(AccessLog.class));
+    }
+
+    @Test
+    void page_estimated() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("access_logs"), eq("access_logs")))
+                .willReturn(1_000_000L);
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(logs(2));
+
+        CountedPage<AccessLog> page = pageTemplate.page(AccessLog.class, Criteria.empty(), PageRequest.of(0, 2),
+                CountMode.ESTIMATED);
+        pageTemplate.page(AccessLog.class, Criteria.empty(), PageRequest.of(0, 2), CountMode.ESTIMATED);
+
+        Assertions.assertEquals(CountMode.ESTIMATED, page.getCount());
+        Assertions.assertEquals(1_000_000L, page.getTotalElements());
+        Assertions.assertFalse(page.hasNext());
+        // the estimate is cached
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), Mockito.any(), Mockito.any());
+        verify(jdbcAggregateOperations, never()).count(Mockito.any(Query.class), eq(AccessLog.class));
+    }
+
+    @Test
+    void page_estimated_small() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), Mockito.any(), Mockito.any())).willReturn(10L);
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(logs(2));
+        given(jdbcAggregateOperations.count(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(2L);
+
+        CountedPage<AccessLog> page = pageTemplate.page(AccessLog.class, Criteria.empty(), PageRequest.of(0, 2),
+                CountMode.ESTIMATED);
+
+        Assertions.assertEquals(CountMode.EXACT, page.getCount());
+        Assertions.assertEquals(2L, page.getTotalElements());
+    }
+
+    @Test
+    void page_estimated_filtered() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), Mockito.any(), Mockito.any()))
+                .willReturn(1_000_000L);
+        given(jdbcAggregateOperations.findAll(Mockito.any(Query.class), eq(AccessLog.class))).willReturn(logs(1));
+
+        CountedPage<AccessLog> page = pageTemplate.page(AccessLog.class, Criteria.where("url").is("/test"),
+                PageRequest.of(0, 2), CountMode.ESTIMATED);
+
+        Assertions.assertEquals(CountMode.NONE, page.getCount());
+        Assertions.assertEquals(-1L, page.getTotalElements());
+        Assertions.assertFalse(page.hasNext());
+    }
+
+    private static List<AccessLog> logs(int count) {
+        List<AccessLog> logs = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            AccessLog accessLog = new AccessLog();
+            accessLog.setId(id);
+            logs.add(accessLog);
+        }
+        return logs;
+    }
+
+}
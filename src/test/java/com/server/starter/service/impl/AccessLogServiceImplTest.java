@@ -17,6 +17,9 @@
 
 package com.server.starter.service.impl;
 
+import com.server.starter.domain.CountMode;
+import com.server.starter.domain.CountedPage;
+import com.server.starter.service.PageTemplate;
 import com.server.starter.system.domain.AccessLog;
 import com.server.starter.system.dto.AccessLogDTO;
 import com.server.starter.system.repository.AccessLogRepository;
@@ -32,9 +35,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
 
+import java.time.Instant;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,6 +56,9 @@ class AccessLogServiceImplTest {
     @Mock
     private AccessLogRepository accessLogRepository;
 
+    @Mock
+    private PageTemplate pageTemplate;
+
     @InjectMocks
     private AccessLogServiceImpl accessLogService;
 
@@ -59,11 +68,41 @@ class AccessLogServiceImplTest {
 
         given(this.accessLogRepository.findAll(Mockito.any(Pageable.class))).willReturn(page);
 
-        Page<AccessLogVO> voPage = accessLogService.retrieve(0, 2, "id", true, "test");
+        Page<AccessLogVO> voPage = accessLogService.retrieve(0, 2, "id", true, "test", null, null, null);
 
         Assertions.assertNotNull(voPage.getContent());
     }
 
+    @Test
+    void retrieve_window() {
+        Page<AccessLog> page = new PageImpl<>(List.of(Mockito.mock(AccessLog.class)));
+        Instant start = Instant.parse("2024-10-01T00:00:00Z");
+        Instant end = Instant.parse("2024-10-02T00:00:00Z");
+
+        given(this.accessLogRepository.findAllByCreatedDateBetween(eq(start), eq(end), Mockito.any(Pageable.class)))
+                .willReturn(page);
+
+        Page<AccessLogVO> voPage = accessLogService.retrieve(0, 2, "id", true, "test", start, end, null);
+
+        Assertions.assertEquals(1, voPage.getContent().size());
+        verify(this.accessLogRepository, times(0)).findAll(Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void retrieve_estimated() {
+        CountedPage<AccessLog> page = new CountedPage<>(List.of(Mockito.mock(AccessLog.class)),
+                Pageable.ofSize(2), 1_000_000L, CountMode.ESTIMATED, true);
+
+        given(this.pageTemplate.page(eq(AccessLog.class), Mockito.any(Criteria.class), Mockito.any(Pageable.class),
+                eq(CountMode.ESTIMATED))).willReturn(page);
+
+        Page<AccessLogVO> voPage = accessLogService.retrieve(0, 2, "id", true, "test", null, null,
+                CountMode.ESTIMATED);
+
+        Assertions.assertEquals(1_000_000L, voPage.getTotalElements());
+        verify(this.accessLogRepository, times(0)).findAll(Mockito.any(Pageable.class));
+    }
+
     @Test
     void create() {
         given(this.accessLogRepository.save(Mockito.any(AccessLog.class))).willReturn(Mockito.mock(AccessLog.class));
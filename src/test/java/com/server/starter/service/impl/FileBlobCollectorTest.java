@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service.impl;
+
+import com.server.starter.file.domain.FileBlob;
+import com.server.starter.file.repository.FileBlobRepository;
+import com.server.starter.file.service.impl.FileBlobCollector;
+import com.server.starter.file.storage.InMemoryFileStorage;
+import com.server.starter.file.storage.StoredContent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+
+/**
+ * file blob collector test
+ **/
+@ExtendWith(MockitoExtension.class)
+class FileBlobCollectorTest {
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InMemoryFileStorage fileStorage;
+
+    private FileBlobCollector fileBlobCollector;
+
+    private FileBlob fileBlob;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileStorage = new InMemoryFileStorage();
+        fileBlobCollector = new FileBlobCollector(fileBlobRepository, fileStorage, transactionTemplate,
+                Duration.ofMinutes(10), 2);
+
+        StoredContent content = fileStorage.store(Channels.newChannel(
+                new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8))));
+        fileBlob = new FileBlob();
+        fileBlob.setHash(content.hash());
+        fileBlob.setPath(content.path());
+
+        given(transactionTemplate.execute(Mockito.any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void collect() {
+        given(fileBlobRepository.findAllReleased(Mockito.any(Instant.class), Mockito.eq(2)))
+                .willReturn(List.of(fileBlob));
+        given(fileBlobRepository.deleteReleased(fileBlob.getHash())).willReturn(true);
+
+        Assertions.assertEquals(1, fileBlobCollector.collect());
+        Assertions.assertFalse(fileStorage.exists(fileBlob.getPath()));
+    }
+
+    @Test
+    void collect_referenced() {
+        given(fileBlobRepository.findAllReleased(Mockito.any(Instant.class), Mockito.eq(2)))
+                .willReturn(List.of(fileBlob));
+        // referenced again between the query and the delete
+        given(fileBlobRepository.deleteReleased(fileBlob.getHash())).willReturn(false);
+
+        Assertions.assertEquals(0, fileBlobCollector.collect());
+        Assertions.assertTrue(fileStorage.exists(fileBlob.getPath()));
+    }
+
+}
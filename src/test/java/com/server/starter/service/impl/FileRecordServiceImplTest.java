@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service.impl;
+
+import com.server.starter.file.domain.FileRecord;
+import com.server.starter.file.repository.FileBlobRepository;
+import com.server.starter.file.repository.FileRecordRepository;
+import com.server.starter.file.service.impl.FileRecordServiceImpl;
+import com.server.starter.file.storage.InMemoryFileStorage;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.service.KeysetTemplate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * file record service test
+ **/
+@ExtendWith(MockitoExtension.class)
+class FileRecordServiceImplTest {
+
+    @Mock
+    private FileRecordRepository fileRecordRepository;
+
+    @Mock
+    private KeysetTemplate keysetTemplate;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    private InMemoryFileStorage fileStorage;
+
+    private FileRecordServiceImpl fileRecordService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorage = Mockito.spy(new InMemoryFileStorage());
+        fileRecordService = new FileRecordServiceImpl(fileRecordRepository, keysetTemplate, fileBlobRepository,
+                fileStorage);
+    }
+
+    @Test
+    void upload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "docs/readme.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8));
+
+        FileRecordVO vo = fileRecordService.upload(file);
+
+        ArgumentCaptor<FileRecord> captor = ArgumentCaptor.forClass(FileRecord.class);
+        verify(fileRecordRepository).save(captor.capture());
+        FileRecord fileRecord = captor.getValue();
+        Assertions.assertEquals("readme.txt", fileRecord.getName());
+        Assertions.assertEquals("text/plain", fileRecord.getType());
+        Assertions.assertEquals(11, fileRecord.getSize());
+        Assertions.assertEquals(fileRecord.getHash(), vo.getHash());
+        Assertions.assertTrue(fileStorage.exists(fileRecord.getPath()));
+        Assertions.assertEquals(fileRecord.getPath(), vo.getPath());
+        verify(fileBlobRepository).reference(fileRecord.getHash(), fileRecord.getPath(), 11);
+    }
+
+    @Test
+    void upload_duplicate() throws Exception {
+        FileRecordVO first = fileRecordService.upload(new MockMultipartFile("file", "readme.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8)));
+        Mockito.clearInvocations(fileStorage);
+
+        FileRecordVO second = fileRecordService.upload(new MockMultipartFile("file", "copy.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(first.getPath(), second.getPath());
+        verify(fileStorage, never()).store(Mockito.any(ReadableByteChannel.class));
+        verify(fileBlobRepository, times(2)).reference(first.getHash(), first.getPath(), 11);
+    }
+
+    @Test
+    void upload_error() {
+        given(fileRecordRepository.save(Mockito.any(FileRecord.class))).willThrow(new RuntimeException());
+
+        Assertions.assertThrows(RuntimeException.class, () -> fileRecordService.upload(new MockMultipartFile(
+                "file", "readme.txt", "text/plain", "hello world".getBytes(StandardCharsets.UTF_8))));
+        verify(fileBlobRepository).release(Mockito.anyString());
+    }
+
+    @Test
+    void upload_empty() {
+        MockMultipartFile file = new MockMultipartFile("file", "empty.txt", "text/plain", new byte[0]);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fileRecordService.upload(file));
+        verify(fileRecordRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void transfer() throws Exception {
+        FileRecordVO vo = fileRecordService.upload(new MockMultipartFile("file", "readme.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        fileRecordService.transfer(vo.getPath(), 6, 5, Channels.newChannel(os));
+
+        Assertions.assertEquals("world", os.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transfer_short() throws Exception {
+        FileRecordVO vo = fileRecordService.upload(new MockMultipartFile("file", "readme.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThrows(EOFException.class, () -> fileRecordService.transfer(vo.getPath(), 6, 10,
+                Channels.newChannel(new ByteArrayOutputStream())));
+    }
+
+    @Test
+    void remove() throws Exception {
+        FileRecordVO vo = fileRecordService.upload(new MockMultipartFile("file", "readme.txt", "text/plain",
+                "hello world".getBytes(StandardCharsets.UTF_8)));
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setPath(vo.getPath());
+        fileRecord.setHash(vo.getHash());
+        given(fileRecordRepository.findById(1L)).willReturn(Optional.of(fileRecord));
+
+        fileRecordService.remove(1L);
+
+        verify(fileRecordRepository).delete(fileRecord);
+        verify(fileBlobRepository).release(vo.getHash());
+        // deleted later by the collector
+        Assertions.assertTrue(fileStorage.exists(vo.getPath()));
+    }
+
+}
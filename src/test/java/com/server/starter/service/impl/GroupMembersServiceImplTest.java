@@ -17,6 +17,7 @@
 
 package com.server.starter.service.impl;
 
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.GroupMembers;
 import com.server.starter.system.repository.GroupMembersRepository;
 import com.server.starter.system.service.impl.GroupMembersServiceImpl;
@@ -46,6 +47,9 @@ class GroupMembersServiceImplTest {
     @Mock
     private GroupMembersRepository groupMembersRepository;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private GroupMembersServiceImpl groupMembersService;
 
@@ -73,6 +77,7 @@ class GroupMembersServiceImplTest {
         List<GroupMembers> relation = groupMembersService.relation(1L, Set.of("test"));
 
         verify(this.groupMembersRepository, times(1)).saveAll(Mockito.anyList());
+        verify(this.userDetailsCache, times(1)).evict(Set.of("test"));
         Assertions.assertNotNull(relation);
     }
 }
\ No newline at end of file
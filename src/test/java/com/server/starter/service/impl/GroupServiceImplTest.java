@@ -18,8 +18,10 @@
 package com.server.starter.service.impl;
 
 import com.server.starter.domain.TreeNode;
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.Group;
 import com.server.starter.system.dto.GroupDTO;
+import com.server.starter.system.repository.GroupMembersRepository;
 import com.server.starter.system.repository.GroupRepository;
 import com.server.starter.system.service.impl.GroupServiceImpl;
 import com.server.starter.system.vo.GroupVO;
@@ -54,6 +56,12 @@ class GroupServiceImplTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private GroupMembersRepository groupMembersRepository;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -133,9 +141,12 @@ class GroupServiceImplTest {
 
     @Test
     void remove() {
+        given(this.groupMembersRepository.findUsernamesByGroupId(1L)).willReturn(List.of("test"));
+
         groupService.remove(1L);
 
         verify(this.groupRepository, times(1)).deleteById(Mockito.anyLong());
+        verify(this.userDetailsCache, times(1)).evict(List.of("test"));
     }
 
 }
\ No newline at end of file
@@ -61,7 +61,7 @@ class MessageServiceImplTest {
 
         given(this.messageRepository.findAll(Mockito.any(Pageable.class))).willReturn(page);
 
-        Page<MessageVO> voPage = messageService.retrieve(0, 2, "id", true, "test");
+        Page<MessageVO> voPage = messageService.retrieve(0, 2, "id", true, "test", null);
         Assertions.assertNotNull(voPage.getContent());
     }
 
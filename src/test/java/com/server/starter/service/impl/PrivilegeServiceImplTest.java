@@ -18,13 +18,15 @@
 package com.server.starter.service.impl;
 
 import com.server.starter.domain.TreeNode;
+import com.server.starter.system.cache.PrivilegeTreeCache;
 import com.server.starter.system.domain.Privilege;
-import com.server.starter.system.domain.RoleMembers;
-import com.server.starter.system.domain.RolePrivileges;
+import com.server.starter.system.domain.SubsetCount;
+import com.server.starter.system.mapper.PrivilegeMapper;
 import com.server.starter.system.repository.PrivilegeRepository;
 import com.server.starter.system.repository.RoleMembersRepository;
-import com.server.starter.system.repository.RolePrivilegesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.server.starter.system.service.impl.PrivilegeServiceImpl;
+import com.server.starter.system.vo.PrivilegeVO;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,13 +34,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * privilege service test
@@ -49,13 +57,17 @@ import static org.mockito.BDDMockito.given;
 class PrivilegeServiceImplTest {
 
     @Mock
-    private RoleMembersRepository roleMembersRepository;
+    private PrivilegeRepository privilegeRepository;
 
     @Mock
-    private RolePrivilegesRepository rolePrivilegesRepository;
+    private PrivilegeMapper privilegeMapper;
 
     @Mock
-    private PrivilegeRepository privilegeRepository;
+    private RoleMembersRepository roleMembersRepository;
+
+    @Spy
+    private PrivilegeTreeCache privilegeTreeCache = new PrivilegeTreeCache(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(1));
 
     @InjectMocks
     private PrivilegeServiceImpl privilegeService;
@@ -64,16 +76,109 @@ class PrivilegeServiceImplTest {
     void setUp() {
     }
 
+    @Test
+    void retrieve() {
+        Privilege privilege = new Privilege();
+        privilege.setId(1L);
+        privilege.setName("test");
+        Privilege other = new Privilege();
+        other.setId(2L);
+        other.setName("other");
+        given(this.privilegeRepository.findAllBySuperiorIdIsNull(Mockito.any(PageRequest.class)))
+                .willReturn(new PageImpl<>(List.of(privilege, other)));
+        SubsetCount count = new SubsetCount();
+        count.setSuperiorId(1L);
+        count.setCount(3L);
+        given(this.privilegeMapper.countBySuperiorIdIn(Mockito.anyCollection())).willReturn(List.of(count));
+
+        Page<PrivilegeVO> voPage = privilegeService.retrieve(0, 2, "id", true, null);
+
+        Assertions.assertEquals(3L, voPage.getContent().get(0).getCount());
+        Assertions.assertEquals(0L, voPage.getContent().get(1).getCount());
+        verify(this.privilegeMapper, times(1)).countBySuperiorIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void subset() {
+        Privilege privilege = new Privilege();
+        privilege.setId(2L);
+        privilege.setName("test");
+        privilege.setSuperiorId(1L);
+        given(this.privilegeRepository.findAllBySuperiorId(Mockito.anyLong())).willReturn(List.of(privilege));
+        given(this.privilegeMapper.countBySuperiorIdIn(Mockito.anyCollection())).willReturn(Collections.emptyList());
+
+        List<PrivilegeVO> voList = privilegeService.subset(1L);
+
+        Assertions.assertEquals(1, voList.size());
+        Assertions.assertEquals(0L, voList.get(0).getCount());
+    }
+
+    @Test
+    void subset_empty() {
+        given(this.privilegeRepository.findAllBySuperiorId(Mockito.anyLong())).willReturn(Collections.emptyList());
+
+        List<PrivilegeVO> voList = privilegeService.subset(1L);
+
+        Assertions.assertTrue(voList.isEmpty());
+        verify(this.privilegeMapper, times(0)).countBySuperiorIdIn(Mockito.anyCollection());
+    }
+
     @Test
     void tree() {
-        given(this.roleMembersRepository.findAllByUsername(Mockito.anyString())).willReturn(Collections.singletonList(Mockito.mock(RoleMembers.class)));
+        Privilege privilege = new Privilege();
+        privilege.setId(1L);
+        privilege.setName("test");
+        Privilege child = new Privilege();
+        child.setId(2L);
+        child.setName("child");
+        child.setSuperiorId(1L);
+        given(this.privilegeRepository.findAllByUsername(Mockito.anyString())).willReturn(List.of(privilege, child));
+
+        List<TreeNode> nodes = privilegeService.tree("test");
+        Assertions.assertEquals(1, nodes.size());
+        Assertions.assertEquals(1, nodes.get(0).getChildren().size());
+    }
+
+    @Test
+    void tree_cached() {
+        given(this.privilegeRepository.findAllByUsername(Mockito.anyString())).willReturn(Collections.emptyList());
+
+        privilegeService.tree("test");
+        privilegeService.tree("test");
 
-        given(this.rolePrivilegesRepository.findAllByRoleId(Mockito.anyLong())).willReturn(Collections.singletonList(Mockito.mock(RolePrivileges.class)));
+        verify(this.privilegeRepository, times(1)).findAllByUsername("test");
+    }
+
+    @Test
+    void enable() {
+        given(this.privilegeRepository.findAllByUsername(Mockito.anyString())).willReturn(Collections.emptyList());
+        given(this.privilegeRepository.updateEnabledById(Mockito.anyLong())).willReturn(true);
+        given(this.roleMembersRepository.findUsernamesByPrivilegeId(Mockito.anyLong())).willReturn(List.of("test"));
 
-        given(this.privilegeRepository.findById(Mockito.anyLong())).willReturn(Optional.of(Mockito.mock(Privilege.class)));
+        privilegeService.tree("test");
+        boolean enabled = privilegeService.enable(1L);
+        privilegeService.tree("test");
+
+        Assertions.assertTrue(enabled);
+        verify(this.privilegeRepository, times(2)).findAllByUsername("test");
+    }
+
+    @Test
+    void remove() {
+        given(this.roleMembersRepository.findUsernamesByPrivilegeId(Mockito.anyLong())).willReturn(List.of("test"));
+
+        privilegeService.remove(1L);
+
+        verify(this.privilegeRepository, times(1)).deleteById(1L);
+        verify(this.privilegeTreeCache, times(1)).evict(List.of("test"));
+    }
+
+    @Test
+    void tree_empty() {
+        given(this.privilegeRepository.findAllByUsername(Mockito.anyString())).willReturn(Collections.emptyList());
 
         List<TreeNode> nodes = privilegeService.tree("test");
-        Assertions.assertNotNull(nodes);
+        Assertions.assertTrue(nodes.isEmpty());
     }
 
 }
\ No newline at end of file
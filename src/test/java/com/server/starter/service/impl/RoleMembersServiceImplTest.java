@@ -17,6 +17,8 @@
 
 package com.server.starter.service.impl;
 
+import com.server.starter.system.cache.PrivilegeTreeCache;
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.RoleMembers;
 import com.server.starter.system.repository.RoleMembersRepository;
 import com.server.starter.system.service.impl.RoleMembersServiceImpl;
@@ -46,6 +48,12 @@ class RoleMembersServiceImplTest {
     @Mock
     private RoleMembersRepository roleMembersRepository;
 
+    @Mock
+    private PrivilegeTreeCache privilegeTreeCache;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private RoleMembersServiceImpl roleMembersService;
 
@@ -72,6 +80,8 @@ class RoleMembersServiceImplTest {
         List<RoleMembers> relation = roleMembersService.relation(1L, Set.of("test"));
 
         verify(this.roleMembersRepository, times(1)).saveAll(Mockito.anyList());
+        verify(this.privilegeTreeCache, times(1)).evict(Set.of("test"));
+        verify(this.userDetailsCache, times(1)).evict(Set.of("test"));
         Assertions.assertNotNull(relation);
     }
 }
\ No newline at end of file
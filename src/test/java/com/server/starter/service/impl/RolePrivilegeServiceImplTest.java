@@ -17,7 +17,9 @@
 
 package com.server.starter.service.impl;
 
+import com.server.starter.system.cache.PrivilegeTreeCache;
 import com.server.starter.system.domain.RolePrivileges;
+import com.server.starter.system.repository.RoleMembersRepository;
 import com.server.starter.system.repository.RolePrivilegesRepository;
 import com.server.starter.system.service.impl.RolePrivilegesServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -46,6 +48,12 @@ class RolePrivilegeServiceImplTest {
     @Mock
     private RolePrivilegesRepository rolePrivilegesRepository;
 
+    @Mock
+    private RoleMembersRepository roleMembersRepository;
+
+    @Mock
+    private PrivilegeTreeCache privilegeTreeCache;
+
     @InjectMocks
     private RolePrivilegesServiceImpl rolePrivilegesService;
 
@@ -67,11 +75,13 @@ class RolePrivilegeServiceImplTest {
 
     @Test
     void relation() {
+        given(this.roleMembersRepository.findUsernamesByRoleId(Mockito.anyLong())).willReturn(List.of("test"));
         given(this.rolePrivilegesRepository.saveAll(Mockito.anyCollection())).willReturn(Mockito.anyList());
 
         List<RolePrivileges> relation = rolePrivilegesService.relation(1L, Set.of(1L));
 
         verify(this.rolePrivilegesRepository, times(1)).saveAll(Mockito.anyList());
+        verify(this.privilegeTreeCache, times(1)).evict(List.of("test"));
         Assertions.assertNotNull(relation);
     }
 }
\ No newline at end of file
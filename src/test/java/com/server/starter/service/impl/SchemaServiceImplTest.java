@@ -0,0 +1,245 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service.impl;
+
+import com.server.starter.exploiter.cache.CatalogCache;
+import com.server.starter.exploiter.cache.CompiledTemplateCache;
+import com.server.starter.exploiter.domain.ColumnInfo;
+import com.server.starter.exploiter.domain.Field;
+import com.server.starter.exploiter.domain.Schema;
+import com.server.starter.exploiter.domain.Template;
+import com.server.starter.exploiter.dto.SchemaDTO;
+import com.server.starter.exploiter.render.TemplateRenderer;
+import com.server.starter.exploiter.repository.FieldBatchRepository;
+import com.server.starter.exploiter.repository.FieldRepository;
+import com.server.starter.exploiter.repository.SchemaBatchRepository;
+import com.server.starter.exploiter.repository.SchemaRepository;
+import com.server.starter.exploiter.repository.TemplateRepository;
+import com.server.starter.exploiter.service.impl.SchemaServiceImpl;
+import com.server.starter.exploiter.vo.SchemaSyncVO;
+import com.server.starter.service.ExcelExportTemplate;
+import com.server.starter.service.ExcelImportTemplate;
+import com.server.starter.service.KeysetTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * schema service test
+ **/
+@ExtendWith(MockitoExtension.class)
+class SchemaServiceImplTest {
+
+    @Mock
+    private SchemaRepository schemaRepository;
+
+    @Mock
+    private FieldRepository fieldRepository;
+
+    @Mock
+    private FieldBatchRepository fieldBatchRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    private TemplateRenderer templateRenderer;
+
+    private SchemaServiceImpl schemaService;
+
+    @BeforeEach
+    void setUp() {
+        templateRenderer = new TemplateRenderer(new CompiledTemplateCache(new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1)), 2, 16);
+        schemaService = new SchemaServiceImpl(schemaRepository, fieldRepository, fieldBatchRepository,
+                Mockito.mock(SchemaBatchRepository.class), templateRepository, catalogCache,
+                Mockito.mock(KeysetTemplate.class), Mockito.mock(ExcelExportTemplate.class),
+                Mockito.mock(ExcelImportTemplate.class), templateRenderer, -1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        templateRenderer.destroy();
+    }
+
+    @Test
+    void create() {
+        SchemaDTO dto = new SchemaDTO();
+        dto.setName("users");
+        given(schemaRepository.save(Mockito.any(Schema.class))).willAnswer(invocation -> {
+            Schema schema = invocation.getArgument(0);
+            schema.setId(1L);
+            return schema;
+        });
+        // a table created after the catalog was loaded
+        given(catalogCache.refresh("users")).willReturn(List.of(column("users", "id", "int8"),
+                column("users", "username", "varchar")));
+
+        schemaService.create(dto);
+
+        verify(fieldRepository).saveAll(Mockito.<List<Field>>argThat(fields -> fields.size() == 1
+                && "username".equals(fields.get(0).getColumnName()) && fields.get(0).getSchemaId() == 1L));
+        verify(catalogCache, never()).columns(Mockito.anyString());
+    }
+
+    @Test
+    void generate_bulk() throws Exception {
+        Schema users = schema(1L, "users", "User", 1L, 2L);
+        Schema roles = schema(2L, "roles", "Role", 2L);
+        given(schemaRepository.findAllById(List.of(2L, 1L))).willReturn(List.of(users, roles));
+        given(templateRepository.findAllById(new LinkedHashSet<>(List.of(2L, 1L)))).willReturn(List.of(
+                template(1L, "%sController.java", "controller of ${name}"),
+                template(2L, "%sService.java", "service of ${name}, ${fields?size} fields")));
+        Field field = new Field();
+        field.setSchemaId(1L);
+        given(fieldRepository.findAllBySchemaIdIn(Mockito.anyCollection())).willReturn(List.of(field));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        schemaService.generate(List.of(2L, 1L), os);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(os.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        Assertions.assertEquals(List.of("roles/RoleService.java", "users/UserController.java",
+                "users/UserService.java"), new ArrayList<>(entries.keySet()));
+        Assertions.assertEquals("service of roles, 0 fields", entries.get("roles/RoleService.java"));
+        Assertions.assertEquals("service of users, 1 fields", entries.get("users/UserService.java"));
+        verify(templateRepository, never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void generate_bulk_missing() {
+        given(schemaRepository.findAllById(List.of(1L))).willReturn(List.of());
+
+        Assertions.assertThrows(NoSuchElementException.class,
+                () -> schemaService.generate(List.of(1L), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void syncAll() {
+        Schema users = schema(1L, "users", "User");
+        Schema roles = schema(2L, "roles", "Role");
+        Schema posts = schema(3L, "posts", "Post");
+        given(schemaRepository.findAll()).willReturn(List.of(users, roles, posts));
+        given(catalogCache.refresh(Set.of("users", "roles", "posts"))).willReturn(Map.of(
+                "users", List.of(column("users", "id", "int8"), column("users", "username", "varchar"),
+                        column("users", "email", "varchar")),
+                "roles", List.of(column("roles", "name", "varchar"))));
+        Field username = field(10L, 1L, "username", "varchar");
+        Field phone = field(11L, 1L, "phone", "varchar");
+        Field name = field(20L, 2L, "name", "varchar");
+        Field title = field(30L, 3L, "title", "varchar");
+        given(fieldRepository.findAllBySchemaIdIn(List.of(1L, 2L, 3L)))
+                .willReturn(List.of(username, phone, name, title));
+        // the only change on roles is a comment
+        name.setComment("old comment");
+
+        List<SchemaSyncVO> voList = schemaService.syncAll();
+
+        Assertions.assertEquals(List.of("users", "roles", "posts"),
+                voList.stream().map(SchemaSyncVO::getName).toList());
+        SchemaSyncVO usersVO = voList.get(0);
+        Assertions.assertEquals(List.of("email"), usersVO.getAdded());
+        Assertions.assertTrue(usersVO.getUpdated().isEmpty());
+        Assertions.assertEquals(List.of("phone"), usersVO.getRemoved());
+        Assertions.assertEquals(List.of("name"), voList.get(1).getUpdated());
+        Assertions.assertTrue(voList.get(2).isMissing());
+
+        // fields of a missing table are kept
+        verify(fieldBatchRepository).deleteAllById(List.of(11L));
+        verify(fieldBatchRepository).updateAll(List.of(name));
+        verify(fieldBatchRepository).insertAll(Mockito.argThat(fields -> fields.size() == 1
+                && "email".equals(fields.get(0).getColumnName()) && fields.get(0).getSchemaId() == 1L));
+        Assertions.assertNull(name.getComment());
+        verify(fieldRepository, never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    void syncAll_unchanged() {
+        given(schemaRepository.findAll()).willReturn(List.of(schema(1L, "users", "User")));
+        given(catalogCache.refresh(Set.of("users"))).willReturn(Map.of(
+                "users", List.of(column("users", "username", "varchar"))));
+        given(fieldRepository.findAllBySchemaIdIn(List.of(1L)))
+                .willReturn(List.of(field(10L, 1L, "username", "varchar")));
+
+        Assertions.assertTrue(schemaService.syncAll().isEmpty());
+
+        verify(fieldBatchRepository).updateAll(List.of());
+        verify(fieldBatchRepository).insertAll(List.of());
+    }
+
+    private static ColumnInfo column(String tableName, String columnName, String dataType) {
+        ColumnInfo column = new ColumnInfo();
+        column.setTableName(tableName);
+        column.setColumnName(columnName);
+        column.setDataType(dataType);
+        column.setNullable("YES");
+        return column;
+    }
+
+    // a field as a previous sync of the column would have left it
+    private Field field(Long id, Long schemaId, String columnName, String dataType) {
+        Field field = new Field();
+        field.setId(id);
+        field.setSchemaId(schemaId);
+        schemaService.constructField(field, column(null, columnName, dataType));
+        return field;
+    }
+
+    private static Schema schema(Long id, String name, String domain, Long... templates) {
+        Schema schema = new Schema();
+        schema.setId(id);
+        schema.setName(name);
+        schema.setDomain(domain);
+        schema.setTemplates(new LinkedHashSet<>(Arrays.asList(templates)));
+        return schema;
+    }
+
+    private static Template template(Long id, String name, String content) {
+        Template template = new Template();
+        template.setId(id);
+        template.setName(name);
+        template.setSuffix(".java");
+        template.setContent(content);
+        return template;
+    }
+
+}
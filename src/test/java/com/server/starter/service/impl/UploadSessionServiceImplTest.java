@@ -0,0 +1,245 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.service.impl;
+
+import com.server.starter.file.domain.UploadSession;
+import com.server.starter.file.dto.UploadSessionDTO;
+import com.server.starter.file.repository.UploadSessionRepository;
+import com.server.starter.file.service.FileRecordService;
+import com.server.starter.file.service.impl.UploadSessionServiceImpl;
+import com.server.starter.file.vo.FileRecordVO;
+import com.server.starter.file.vo.UploadSessionVO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * upload session service test
+ **/
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceImplTest {
+
+    private static final byte[] BYTES = "hello chunked world".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private FileRecordService fileRecordService;
+
+    @TempDir
+    private Path root;
+
+    private UploadSessionServiceImpl uploadSessionService;
+
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadSessionService = new UploadSessionServiceImpl(uploadSessionRepository, fileRecordService,
+                root.toString(), DataSize.ofBytes(4), Duration.ofHours(1));
+
+        given(uploadSessionRepository.save(Mockito.any(UploadSession.class))).willAnswer(invocation -> {
+            session = invocation.getArgument(0);
+            session.setId(1L);
+            session.setCreatedBy("user");
+            return session;
+        });
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setName("readme.txt");
+        dto.setType("text/plain");
+        dto.setSize(BYTES.length);
+        uploadSessionService.initiate(dto);
+    }
+
+    @Test
+    void initiate() throws Exception {
+        Assertions.assertEquals(5, session.getChunkCount());
+        Assertions.assertEquals(1, session.getReceived().length);
+        Assertions.assertEquals(BYTES.length, Files.size(root.resolve("1.part")));
+    }
+
+    @Test
+    void fetch() {
+        session.setReceived(new byte[]{0b00101});
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+
+        UploadSessionVO vo = uploadSessionService.fetch(1L, "user");
+
+        Assertions.assertEquals(List.of(1, 3, 4), vo.getMissing());
+    }
+
+    @Test
+    void fetch_other() {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+
+        Assertions.assertNull(uploadSessionService.fetch(1L, "other"));
+    }
+
+    @Test
+    void write() throws Exception {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+        given(uploadSessionRepository.updateReceivedById(1L, 4)).willReturn(true);
+
+        uploadSessionService.write(1L, 4, chunk(4), checksum(4), "user");
+
+        byte[] part = Files.readAllBytes(root.resolve("1.part"));
+        Assertions.assertArrayEquals(Arrays.copyOfRange(BYTES, 16, 19), Arrays.copyOfRange(part, 16, 19));
+    }
+
+    @Test
+    void write_parallel() throws Exception {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+        given(uploadSessionRepository.updateReceivedById(eq(1L), Mockito.anyInt())).willReturn(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Object>> futures = executor.invokeAll(List.of(4, 2, 0, 3, 1).stream()
+                    .map(index -> (Callable<Object>) () -> {
+                        uploadSessionService.write(1L, index, chunk(index), checksum(index), "user");
+                        return null;
+                    }).toList());
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertArrayEquals(BYTES, Files.readAllBytes(root.resolve("1.part")));
+    }
+
+    @Test
+    void write_checksum() {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> uploadSessionService.write(1L, 0, chunk(0), checksum(1), "user"));
+        verify(uploadSessionRepository, never()).updateReceivedById(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void write_short() {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+        ReadableByteChannel source = Channels.newChannel(new ByteArrayInputStream(BYTES, 0, 2));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> uploadSessionService.write(1L, 0, source, checksum(0), "user"));
+        verify(uploadSessionRepository, never()).updateReceivedById(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void write_other() {
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+
+        Assertions.assertThrows(NoSuchElementException.class,
+                () -> uploadSessionService.write(1L, 4, chunk(4), checksum(4), "other"));
+        verify(uploadSessionRepository, never()).updateReceivedById(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void complete() throws Exception {
+        session.setReceived(new byte[]{0b11111});
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+        given(uploadSessionRepository.deleteByIdAndCreatedBy(1L, "user")).willReturn(true);
+        FileRecordVO vo = new FileRecordVO();
+        given(fileRecordService.upload("readme.txt", "text/plain", root.resolve("1.part"))).willReturn(vo);
+
+        Assertions.assertSame(vo, uploadSessionService.complete(1L, "user"));
+
+        Assertions.assertFalse(Files.exists(root.resolve("1.part")));
+    }
+
+    @Test
+    void complete_claimed() throws Exception {
+        session.setReceived(new byte[]{0b11111});
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+        given(uploadSessionRepository.deleteByIdAndCreatedBy(1L, "user")).willReturn(false);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> uploadSessionService.complete(1L, "user"));
+        verify(fileRecordService, never()).upload(Mockito.anyString(), Mockito.anyString(), Mockito.any(Path.class));
+        Assertions.assertTrue(Files.exists(root.resolve("1.part")));
+    }
+
+    @Test
+    void complete_missing() throws Exception {
+        session.setReceived(new byte[]{0b10111});
+        given(uploadSessionRepository.findById(1L)).willReturn(Optional.of(session));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> uploadSessionService.complete(1L, "user"));
+        verify(fileRecordService, never()).upload(Mockito.anyString(), Mockito.anyString(), Mockito.any(Path.class));
+    }
+
+    @Test
+    void abort() throws Exception {
+        given(uploadSessionRepository.deleteByIdAndCreatedBy(1L, "user")).willReturn(true);
+
+        uploadSessionService.abort(1L, "user");
+
+        Assertions.assertFalse(Files.exists(root.resolve("1.part")));
+    }
+
+    @Test
+    void abort_other() throws Exception {
+        given(uploadSessionRepository.deleteByIdAndCreatedBy(1L, "other")).willReturn(false);
+
+        uploadSessionService.abort(1L, "other");
+
+        Assertions.assertTrue(Files.exists(root.resolve("1.part")));
+    }
+
+    private static ReadableByteChannel chunk(int index) {
+        int from = index * 4;
+        return Channels.newChannel(new ByteArrayInputStream(BYTES, from, Math.min(4, BYTES.length - from)));
+    }
+
+    private static long checksum(int index) {
+        CRC32C crc = new CRC32C();
+        int from = index * 4;
+        crc.update(BYTES, from, Math.min(4, BYTES.length - from));
+        return crc.getValue();
+    }
+
+}
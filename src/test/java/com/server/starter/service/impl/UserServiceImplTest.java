@@ -16,6 +16,7 @@
  */
 package com.server.starter.service.impl;
 
+import com.server.starter.system.cache.UserDetailsCache;
 import com.server.starter.system.domain.User;
 import com.server.starter.system.dto.UserDTO;
 import com.server.starter.system.repository.UserRepository;
@@ -32,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +52,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -90,6 +98,7 @@ class UserServiceImplTest {
         UserVO vo = userService.create(userDTO);
 
         verify(userRepository, Mockito.times(1)).save(Mockito.any(User.class));
+        verify(passwordEncoder, Mockito.times(1)).encode("123456");
         Assertions.assertNotNull(vo);
     }
 
@@ -125,10 +134,28 @@ class UserServiceImplTest {
         Assertions.assertFalse(exists);
     }
 
+    @Test
+    void enable() {
+        User user = new User();
+        user.setUsername("test");
+        given(this.userRepository.updateEnabledById(Mockito.anyLong())).willReturn(true);
+        given(this.userRepository.findById(Mockito.anyLong())).willReturn(Optional.of(user));
+
+        boolean enabled = userService.enable(1L);
+
+        Assertions.assertTrue(enabled);
+        verify(userDetailsCache, Mockito.times(1)).evict("test");
+    }
+
     @Test
     void remove() {
-        userService.remove(Mockito.anyLong());
+        User user = new User();
+        user.setUsername("test");
+        given(this.userRepository.findById(Mockito.anyLong())).willReturn(Optional.of(user));
+
+        userService.remove(1L);
 
         verify(userRepository, Mockito.times(1)).deleteById(Mockito.anyLong());
+        verify(userDetailsCache, Mockito.times(1)).evict("test");
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2018-2024 little3201.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package com.server.starter.storage;
+
+import com.server.starter.file.storage.LocalFileStorage;
+import com.server.starter.file.storage.StoredContent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * local file storage test
+ **/
+class LocalFileStorageTest {
+
+    private static final String HASH = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    private Path root;
+
+    private LocalFileStorage fileStorage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileStorage = new LocalFileStorage(root.toString());
+    }
+
+    @Test
+    void store() throws Exception {
+        StoredContent content = fileStorage.store(channel("hello world"));
+
+        Assertions.assertEquals(HASH, content.hash());
+        Assertions.assertEquals("b9/4d/" + HASH, content.path());
+        Assertions.assertEquals(11, content.size());
+        Assertions.assertTrue(fileStorage.exists(content.path()));
+        Assertions.assertEquals("hello world", Files.readString(root.resolve(content.path())));
+        try (Stream<Path> temp = Files.list(root.resolve(".tmp"))) {
+            Assertions.assertEquals(0, temp.count());
+        }
+    }
+
+    @Test
+    void store_large() throws Exception {
+        byte[] bytes = new byte[3 * 1024 * 1024 + 17];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        StoredContent content = fileStorage.store(Channels.newChannel(new ByteArrayInputStream(bytes)));
+
+        Assertions.assertEquals(bytes.length, content.size());
+        Assertions.assertArrayEquals(bytes, Files.readAllBytes(root.resolve(content.path())));
+    }
+
+    @Test
+    void store_duplicate() throws Exception {
+        StoredContent first = fileStorage.store(channel("hello world"));
+        StoredContent second = fileStorage.store(channel("hello world"));
+
+        Assertions.assertEquals(first, second);
+        try (Stream<Path> temp = Files.list(root.resolve(".tmp"))) {
+            Assertions.assertEquals(0, temp.count());
+        }
+    }
+
+    @Test
+    void store_file() throws Exception {
+        Path file = Files.writeString(root.resolve("upload.part"), "hello world");
+
+        StoredContent content = fileStorage.store(file);
+
+        Assertions.assertEquals(HASH, content.hash());
+        Assertions.assertFalse(Files.exists(file));
+        Assertions.assertEquals("hello world", Files.readString(root.resolve(content.path())));
+    }
+
+    @Test
+    void store_file_duplicate() throws Exception {
+        StoredContent first = fileStorage.store(channel("hello world"));
+        Path file = Files.writeString(root.resolve("upload.part"), "hello world");
+
+        Assertions.assertEquals(first, fileStorage.store(file));
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void open() throws Exception {
+        StoredContent content = fileStorage.store(channel("hello world"));
+
+        try (SeekableByteChannel channel = fileStorage.open(content.path())) {
+            ByteBuffer buffer = ByteBuffer.allocate(5);
+            channel.position(6).read(buffer);
+            Assertions.assertEquals(11, channel.size());
+            Assertions.assertEquals("world", new String(buffer.array(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void open_missing() {
+        Assertions.assertThrows(NoSuchFileException.class, () -> fileStorage.open("b9/4d/" + HASH));
+    }
+
+    @Test
+    void file() throws Exception {
+        StoredContent content = fileStorage.store(channel("hello world"));
+
+        Path file = fileStorage.file(content.path());
+        Assertions.assertEquals("hello world", Files.readString(file));
+        Assertions.assertThrows(NoSuchFileException.class, () -> fileStorage.file("b9/4d/0" + HASH.substring(1)));
+    }
+
+    @Test
+    void open_outside() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fileStorage.open("../secret"));
+    }
+
+    @Test
+    void delete() throws Exception {
+        StoredContent content = fileStorage.store(channel("hello world"));
+
+        fileStorage.delete(content.path());
+
+        Assertions.assertFalse(fileStorage.exists(content.path()));
+        // deleting twice is not an error
+        fileStorage.delete(content.path());
+    }
+
+    private static ReadableByteChannel channel(String text) {
+        InputStream is = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        return Channels.newChannel(is);
+    }
+
+}